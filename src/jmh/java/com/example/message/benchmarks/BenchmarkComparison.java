@@ -0,0 +1,133 @@
+package com.example.message.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against the checked-in baseline and exits non-zero when any
+ * benchmark regressed by more than the threshold, or has no baseline to compare with, so a missing
+ * or stale baseline fails the gate instead of passing it. With {@code --update} it replaces the
+ * baseline with the current results instead.
+ *
+ * <p>Usage: {@code BenchmarkComparison <result.json> <baseline.json> <threshold-percent>
+ * [--update]}
+ */
+public final class BenchmarkComparison {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private BenchmarkComparison() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println(
+          "Usage: BenchmarkComparison <result.json> <baseline.json> <threshold-percent> [--update]");
+      System.exit(2);
+    }
+
+    Path result = Path.of(args[0]);
+    Path baseline = Path.of(args[1]);
+    double threshold = Double.parseDouble(args[2]) / 100;
+
+    if (args.length > 3 && "--update".equals(args[3])) {
+      Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+      System.out.printf("Baseline %s updated from %s%n", baseline, result);
+      return;
+    }
+
+    Map<String, Score> current = read(result);
+    Map<String, Score> previous = Files.exists(baseline) ? read(baseline) : Map.of();
+    int regressions = 0;
+    int unmatched = 0;
+
+    for (Map.Entry<String, Score> entry : current.entrySet()) {
+      Score now = entry.getValue();
+      Score before = previous.get(entry.getKey());
+
+      if (before == null) {
+        System.out.printf("NO BASELINE %-70s %12.3f %s%n", entry.getKey(), now.value(), now.unit());
+        unmatched++;
+        continue;
+      }
+
+      double change = now.changeFrom(before);
+      boolean regressed = change > threshold;
+      regressions += regressed ? 1 : 0;
+
+      System.out.printf(
+          "%-11s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n",
+          regressed ? "REGRESSION" : "OK",
+          entry.getKey(),
+          before.value(),
+          now.value(),
+          now.unit(),
+          change * 100);
+    }
+
+    if (current.isEmpty()) {
+      System.err.printf("No benchmark results in %s%n", result);
+      System.exit(1);
+    }
+
+    if (unmatched > 0) {
+      System.err.printf(
+          "%d benchmark(s) missing from %s; record them with update-baseline%n",
+          unmatched, baseline);
+    }
+
+    if (regressions > 0) {
+      System.err.printf(
+          "%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold * 100);
+    }
+
+    if (unmatched > 0 || regressions > 0) {
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, Score> read(Path path) throws IOException {
+    Map<String, Score> scores = new LinkedHashMap<>();
+
+    for (JsonNode run : MAPPER.readTree(path.toFile())) {
+      JsonNode metric = run.path("primaryMetric");
+      scores.put(
+          key(run),
+          new Score(
+              metric.path("score").asDouble(),
+              metric.path("scoreUnit").asText(),
+              "thrpt".equals(run.path("mode").asText())));
+    }
+
+    return scores;
+  }
+
+  private static String key(JsonNode run) {
+    StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+    Map<String, String> params = new TreeMap<>();
+
+    for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> param = it.next();
+      params.put(param.getKey(), param.getValue().asText());
+    }
+
+    params.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+
+    return key.toString();
+  }
+
+  /** Throughput scores regress when they drop, time-per-op scores when they grow. */
+  private record Score(double value, String unit, boolean higherIsBetter) {
+    double changeFrom(Score baseline) {
+      double ratio = (value - baseline.value()) / baseline.value();
+
+      return higherIsBetter ? -ratio : ratio;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.message.benchmarks;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.adapters.output.db.repositories.TokenRepository;
+import com.example.message.infrastructure.adapters.output.security.RevokedUsers;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRepositoryBenchmark {
+  private static final String SECRET = "benchmark-secret-key-for-jmh-runs-only-min-256-bits";
+  private static final long LIFETIME = 86_400_000;
+
+  private TokenRepository cached;
+  private TokenRepository uncached;
+  private User user;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    RevokedUsers revokedUsers =
+        new RevokedUsers(
+            new StringRedisTemplate(),
+            new RevokedUsers.Settings(
+                "auth:revoked", "auth:revoked-users", Duration.ofMillis(LIFETIME), 1000));
+
+    cached = new TokenRepository(SECRET, 10_000, LIFETIME, revokedUsers);
+    uncached = new TokenRepository(SECRET, 0, LIFETIME, revokedUsers);
+    user =
+        User.builder().id(1L).name("Benchmark User").email("benchmark.user@example.com").build();
+    token = cached.generateToken(user);
+    cached.validateToken(token);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return cached.generateToken(user);
+  }
+
+  @Benchmark
+  public User validateCachedToken() {
+    return cached.validateToken(token);
+  }
+
+  @Benchmark
+  public User validateUncachedToken() {
+    return uncached.validateToken(token);
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.message.benchmarks;
+
+import com.example.message.infrastructure.adapters.input.web.filters.TraceIdFilter;
+import com.example.message.infrastructure.tracing.SpanExporter;
+import com.example.message.infrastructure.tracing.TraceContext;
+import com.example.message.infrastructure.tracing.TraceSampler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceIdFilterBenchmark {
+
+  private TraceIdFilter filter;
+  private TraceIdFilter recordingFilter;
+  private MockHttpServletRequest request;
+  private MockHttpServletRequest tracedRequest;
+  private MockHttpServletResponse response;
+  private FilterChain chain;
+  private Blackhole blackhole;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    TraceSampler sampler =
+        new TraceSampler(new TraceSampler.Settings(0.01, Duration.ofSeconds(1), true));
+    filter = new TraceIdFilter(sampler, SpanExporter.NONE);
+    recordingFilter = new TraceIdFilter(sampler, blackhole::consume);
+    request = new MockHttpServletRequest("GET", "/api/users/1");
+    tracedRequest = new MockHttpServletRequest("GET", "/api/users/1");
+    tracedRequest.addHeader(
+        TraceContext.HEADER, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+    response = new MockHttpServletResponse();
+    chain = (req, res) -> this.blackhole.consume(req);
+  }
+
+  @Benchmark
+  public void withoutFilter() throws IOException, ServletException {
+    chain.doFilter(request, response);
+  }
+
+  @Benchmark
+  public void withTraceIdFilter() throws IOException, ServletException {
+    filter.doFilter(request, response, chain);
+  }
+
+  @Benchmark
+  public void withIncomingTraceparent() throws IOException, ServletException {
+    filter.doFilter(tracedRequest, response, chain);
+  }
+
+  @Benchmark
+  public void withSpanRecording() throws IOException, ServletException {
+    recordingFilter.doFilter(request, response, chain);
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.message.benchmarks;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.adapters.output.cache.UserCacheSerializer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserCacheSerializerBenchmark {
+
+  @Param({"json", "binary"})
+  private String format;
+
+  @Param({"user", "list"})
+  private String payload;
+
+  private RedisSerializer<Object> serializer;
+  private Object value;
+  private byte[] bytes;
+
+  @Setup
+  public void setUp() {
+    RedisSerializer<Object> json = RedisSerializer.json();
+    serializer = "json".equals(format) ? json : new UserCacheSerializer(json, 512);
+
+    if ("user".equals(payload)) {
+      value = user(1);
+    } else {
+      List<User> users = new ArrayList<>();
+
+      for (int i = 1; i <= 100; i++) {
+        users.add(user(i));
+      }
+
+      value = users;
+    }
+
+    bytes = serializer.serialize(value);
+    System.out.printf("%n%s/%s bytes per entry: %d%n", format, payload, bytes.length);
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return serializer.serialize(value);
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return serializer.deserialize(bytes);
+  }
+
+  private static User user(long id) {
+    return User.builder()
+        .id(id)
+        .name("Benchmark User " + id)
+        .email("benchmark.user" + id + "@example.com")
+        .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5Dkr3p8LkL7iQbq5lW1YXKa")
+        .build();
+  }
+}
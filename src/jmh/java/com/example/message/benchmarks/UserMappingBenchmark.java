@@ -0,0 +1,77 @@
+package com.example.message.benchmarks;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.adapters.input.web.responses.UserResponse;
+import com.example.message.infrastructure.adapters.output.db.entities.UserEntity;
+import com.example.message.infrastructure.adapters.output.db.repositories.JpaUserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+  private MethodHandle toUser;
+  private ObjectWriter writer;
+  private UserEntity entity;
+  private User user;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    Method method = JpaUserRepository.class.getDeclaredMethod("toUser", UserEntity.class);
+    method.setAccessible(true);
+    toUser = MethodHandles.lookup().unreflect(method);
+    writer = new ObjectMapper().writerFor(UserResponse.class);
+
+    entity = new UserEntity();
+    entity.setId(1L);
+    entity.setName("Benchmark User");
+    entity.setEmail("benchmark.user@example.com");
+    entity.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5Dkr3p8LkL7iQbq5lW1YXKa");
+    entity.setVersion(3L);
+
+    user = toUser();
+  }
+
+  @Benchmark
+  public User entityToUser() {
+    return toUser();
+  }
+
+  @Benchmark
+  public UserResponse userToResponse() {
+    return UserResponse.fromDomain(user);
+  }
+
+  @Benchmark
+  public byte[] userToJson() throws JsonProcessingException {
+    return writer.writeValueAsBytes(UserResponse.fromDomain(user));
+  }
+
+  private User toUser() {
+    try {
+      return (User) toUser.invokeExact(entity);
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.message.core.domain;
+
+public record BulkUserResult(int index, String email, User user, String error) {
+  public static BulkUserResult created(int index, User user) {
+    return new BulkUserResult(index, user.getEmail(), user, null);
+  }
+
+  public static BulkUserResult failed(int index, String email, String error) {
+    return new BulkUserResult(index, email, null, error);
+  }
+
+  public boolean isCreated() {
+    return user != null;
+  }
+}
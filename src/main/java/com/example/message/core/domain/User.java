@@ -18,6 +18,8 @@ public class User {
   @JsonIgnore
   private String password;
 
+  private Long version;
+
   public void updateFields(String newName, String newEmail, String newPassword) {
     if (newName != null && !newName.isBlank()) {
       this.name = newName;
@@ -0,0 +1,7 @@
+package com.example.message.core.domain;
+
+import java.util.List;
+
+public record UserPage(List<User> users, String nextCursor) {
+  public static final int MAX_SIZE = 100;
+}
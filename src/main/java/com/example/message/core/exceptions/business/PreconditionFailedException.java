@@ -0,0 +1,9 @@
+package com.example.message.core.exceptions.business;
+
+import com.example.message.core.exceptions.abstracts.BusinessException;
+
+public class PreconditionFailedException extends BusinessException {
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
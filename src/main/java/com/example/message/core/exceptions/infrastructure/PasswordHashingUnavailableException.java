@@ -0,0 +1,9 @@
+package com.example.message.core.exceptions.infrastructure;
+
+import com.example.message.core.exceptions.abstracts.InfrastructureException;
+
+public class PasswordHashingUnavailableException extends InfrastructureException {
+  public PasswordHashingUnavailableException(String message) {
+    super(message);
+  }
+}
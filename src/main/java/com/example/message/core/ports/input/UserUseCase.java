@@ -1,18 +1,33 @@
 package com.example.message.core.ports.input;
 
+import com.example.message.core.domain.BulkUserResult;
 import com.example.message.core.domain.User;
+import com.example.message.core.domain.UserPage;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserUseCase {
   User createUser(User user);
 
-  List<User> listUsers();
+  List<BulkUserResult> createUsers(List<User> users);
+
+  UserPage listUsers(String cursor, int limit);
+
+  void exportUsers(int batchSize, Consumer<List<User>> batchConsumer);
 
   User findById(Long id);
 
   User findByEmail(String email);
 
+  List<User> findAllByIds(List<Long> ids);
+
+  List<User> findAllByEmails(List<String> emails);
+
+  Long findVersion(Long id);
+
+  User authenticate(String email, String password);
+
   User updateUser(User user);
 
-  void deleteUser(Long id);
+  void deleteUser(Long id, Long expectedVersion);
 }
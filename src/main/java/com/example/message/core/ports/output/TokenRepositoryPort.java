@@ -5,5 +5,5 @@ import com.example.message.core.domain.User;
 public interface TokenRepositoryPort {
   String generateToken(User user);
 
-  String validateToken(String token);
+  User validateToken(String token);
 }
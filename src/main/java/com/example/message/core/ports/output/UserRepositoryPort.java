@@ -1,16 +1,32 @@
 package com.example.message.core.ports.output;
 
 import com.example.message.core.domain.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface UserRepositoryPort {
   User save(User user);
 
-  List<User> findAll();
+  List<User> saveAll(List<User> users);
+
+  User update(User user);
+
+  Set<String> findExistingEmails(Collection<String> emails);
+
+  List<User> findPage(Long afterId, int limit);
+
+  List<User> findExportBatch(Long afterId, int limit);
 
   User find(Long id);
 
   User findByEmail(String email);
 
-  void delete(Long id);
+  List<User> findAllByIds(Collection<Long> ids);
+
+  List<User> findAllByEmails(Collection<String> emails);
+
+  Long findVersion(Long id);
+
+  void delete(Long id, Long expectedVersion);
 }
@@ -1,29 +1,55 @@
 package com.example.message.core.services;
 
+import com.example.message.core.domain.BulkUserResult;
 import com.example.message.core.domain.User;
+import com.example.message.core.domain.UserPage;
+import com.example.message.core.exceptions.abstracts.BusinessException;
 import com.example.message.core.exceptions.business.*;
+import com.example.message.core.exceptions.infrastructure.DatabaseUnavailableException;
 import com.example.message.core.ports.input.UserUseCase;
 import com.example.message.core.ports.output.UserRepositoryPort;
 
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Slf4j
 @Transactional(readOnly = true)
 public class UserService implements UserUseCase {
+  private static final int BULK_CHUNK_SIZE = 500;
+
   private final UserRepositoryPort userRepositoryPort;
   private final PasswordEncoder passwordEncoder;
+  private final Executor hashingExecutor;
 
   public UserService(UserRepositoryPort userRepositoryPort, PasswordEncoder passwordEncoder) {
+    this(userRepositoryPort, passwordEncoder, Runnable::run);
+  }
+
+  public UserService(
+      UserRepositoryPort userRepositoryPort,
+      PasswordEncoder passwordEncoder,
+      Executor hashingExecutor) {
     this.userRepositoryPort = userRepositoryPort;
     this.passwordEncoder = passwordEncoder;
+    this.hashingExecutor = hashingExecutor;
   }
 
   @Override
-  @Transactional
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public User createUser(User user) {
     log.debug("Creating user with email: {}", user.getEmail());
 
@@ -46,9 +72,84 @@ public class UserService implements UserUseCase {
   }
 
   @Override
-  @Transactional
-  public List<User> listUsers() {
-    return userRepositoryPort.findAll();
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public List<BulkUserResult> createUsers(List<User> users) {
+    log.debug("Bulk creating {} users", users.size());
+
+    BulkUserResult[] results = new BulkUserResult[users.size()];
+    Set<String> seen = new HashSet<>();
+    List<Integer> candidates = new ArrayList<>(users.size());
+
+    for (int i = 0; i < users.size(); i++) {
+      String email = users.get(i).getEmail();
+
+      if (!seen.add(email)) {
+        results[i] = BulkUserResult.failed(i, email, "Duplicate email in request");
+      } else {
+        candidates.add(i);
+      }
+    }
+
+    Set<String> existing = userRepositoryPort.findExistingEmails(seen);
+    List<Integer> pending = new ArrayList<>(candidates.size());
+
+    for (int i : candidates) {
+      String email = users.get(i).getEmail();
+
+      if (existing.contains(email)) {
+        results[i] =
+            BulkUserResult.failed(i, email, "User with email " + email + " already exists");
+      } else {
+        pending.add(i);
+      }
+    }
+
+    for (int from = 0; from < pending.size(); from += BULK_CHUNK_SIZE) {
+      List<Integer> chunk =
+          pending.subList(from, Math.min(from + BULK_CHUNK_SIZE, pending.size()));
+      insertChunk(users, chunk, results);
+    }
+
+    long created = Arrays.stream(results).filter(BulkUserResult::isCreated).count();
+    log.info("Bulk created {} of {} users", created, users.size());
+
+    return Arrays.asList(results);
+  }
+
+  @Override
+  public UserPage listUsers(String cursor, int limit) {
+    int pageSize = Math.min(Math.max(limit, 1), UserPage.MAX_SIZE);
+    Long afterId = decodeCursor(cursor);
+
+    List<User> users = userRepositoryPort.findPage(afterId, pageSize + 1);
+
+    if (users.size() <= pageSize) {
+      return new UserPage(users, null);
+    }
+
+    List<User> page = users.subList(0, pageSize);
+
+    return new UserPage(page, encodeCursor(page.get(pageSize - 1).getId()));
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void exportUsers(int batchSize, Consumer<List<User>> batchConsumer) {
+    Long afterId = 0L;
+    long exported = 0;
+    List<User> batch;
+
+    do {
+      batch = userRepositoryPort.findExportBatch(afterId, batchSize);
+
+      if (!batch.isEmpty()) {
+        batchConsumer.accept(batch);
+        afterId = batch.get(batch.size() - 1).getId();
+        exported += batch.size();
+      }
+    } while (batch.size() == batchSize);
+
+    log.info("Exported {} users", exported);
   }
 
   @Override
@@ -74,33 +175,72 @@ public class UserService implements UserUseCase {
   }
 
   @Override
-  @Transactional
-  public User updateUser(User user) {
-    log.debug("Updating user with id: {}", user.getId());
+  public List<User> findAllByIds(List<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return List.of();
+    }
 
-    User existing = userRepositoryPort.find(user.getId());
+    return userRepositoryPort.findAllByIds(ids.stream().distinct().toList());
+  }
 
-    if (existing == null) {
-      log.warn("Update failed - user not found with id: {}", user.getId());
-      throw new UserNotFoundException("User not found with id: " + user.getId());
+  @Override
+  public List<User> findAllByEmails(List<String> emails) {
+    if (emails == null || emails.isEmpty()) {
+      return List.of();
     }
 
-    User existingEmail = userRepositoryPort.findByEmail(user.getEmail());
+    return userRepositoryPort.findAllByEmails(emails.stream().distinct().toList());
+  }
 
-    if (existingEmail != null && !existingEmail.getId().equals(user.getId())) {
-      log.warn("Update failed - email already in use: {}", user.getEmail());
-      throw new ConflictException("User with email " + user.getEmail() + " already exists");
+  @Override
+  public Long findVersion(Long id) {
+    return userRepositoryPort.findVersion(id);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public User authenticate(String email, String password) {
+    User user = userRepositoryPort.findByEmail(email);
+
+    // Only last-known-good copies lack the hash; they can say who the user is, not verify them.
+    if (user != null && user.getPassword() == null) {
+      throw new DatabaseUnavailableException(
+          "Unable to verify credentials. Database is temporarily unavailable.");
     }
 
-    String password = user.getPassword();
+    if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
+      log.warn("Failed login attempt for email: {}", email);
+      throw new InvalidCredentialsException("Email or Password Incorrect");
+    }
 
-    if (password != null && !password.isEmpty()) {
-      password = passwordEncoder.encode(password);
+    if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+      user.setPassword(passwordEncoder.encode(password));
+      user = userRepositoryPort.save(user);
+      log.info("Rehashed password for user {} with the current cost factor", user.getId());
     }
 
-    existing.updateFields(user.getName(), user.getEmail(), password);
+    return user;
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public User updateUser(User user) {
+    log.debug("Updating user with id: {}", user.getId());
+
+    String password = user.getPassword();
+    User changes = User.builder().id(user.getId()).version(user.getVersion()).build();
+
+    changes.updateFields(
+        user.getName(),
+        user.getEmail(),
+        password != null && !password.isBlank() ? passwordEncoder.encode(password) : null);
 
-    User updatedUser = userRepositoryPort.save(user);
+    User updatedUser = userRepositoryPort.update(changes);
+
+    if (updatedUser == null) {
+      log.warn("Update failed - user not found with id: {}", user.getId());
+      throw new UserNotFoundException("User not found with id: " + user.getId());
+    }
 
     log.info("Updated user with id: {}", updatedUser.getId());
 
@@ -109,7 +249,7 @@ public class UserService implements UserUseCase {
 
   @Override
   @Transactional
-  public void deleteUser(Long id) {
+  public void deleteUser(Long id, Long expectedVersion) {
     log.debug("Deleting user with id: {}", id);
     User existing = userRepositoryPort.find(id);
 
@@ -118,7 +258,81 @@ public class UserService implements UserUseCase {
       throw new UserNotFoundException("User not found with id: " + id);
     }
 
-    userRepositoryPort.delete(id);
+    userRepositoryPort.delete(id, expectedVersion);
     log.info("Deleted user with id: {}", id);
   }
+
+  private void insertChunk(List<User> users, List<Integer> chunk, BulkUserResult[] results) {
+    List<CompletableFuture<User>> hashed =
+        chunk.stream()
+            .map(
+                i ->
+                    CompletableFuture.supplyAsync(
+                        () -> {
+                          User user = users.get(i);
+
+                          return User.builder()
+                              .name(user.getName())
+                              .email(user.getEmail())
+                              .password(passwordEncoder.encode(user.getPassword()))
+                              .build();
+                        },
+                        hashingExecutor))
+            .toList();
+
+    List<User> toSave = hashed.stream().map(UserService::await).toList();
+
+    try {
+      List<User> saved = userRepositoryPort.saveAll(toSave);
+
+      for (int k = 0; k < chunk.size(); k++) {
+        results[chunk.get(k)] = BulkUserResult.created(chunk.get(k), saved.get(k));
+      }
+    } catch (BusinessException e) {
+      log.warn("Bulk insert chunk rejected, retrying {} users one by one", chunk.size());
+
+      for (int k = 0; k < chunk.size(); k++) {
+        int index = chunk.get(k);
+        User user = toSave.get(k);
+
+        try {
+          results[index] =
+              BulkUserResult.created(index, userRepositoryPort.saveAll(List.of(user)).get(0));
+        } catch (BusinessException rowFailure) {
+          results[index] = BulkUserResult.failed(index, user.getEmail(), rowFailure.getMessage());
+        }
+      }
+    }
+  }
+
+  private static User await(CompletableFuture<User> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw e;
+    }
+  }
+
+  private static String encodeCursor(Long id) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Long decodeCursor(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return 0L;
+    }
+
+    try {
+      return Long.parseLong(
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid cursor: " + cursor);
+    }
+  }
 }
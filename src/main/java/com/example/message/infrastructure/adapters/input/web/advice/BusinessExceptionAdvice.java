@@ -24,6 +24,13 @@ public class BusinessExceptionAdvice {
     return buildResponse(HttpStatus.CONFLICT, "Data Conflict", ex.getMessage(), request);
   }
 
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<ErrorResponse> handlePreconditionFailed(
+      PreconditionFailedException ex, HttpServletRequest request) {
+    return buildResponse(
+        HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage(), request);
+  }
+
   @ExceptionHandler(BusinessException.class)
   public ResponseEntity<ErrorResponse> handleBusinessException(
       BusinessException ex, HttpServletRequest request) {
@@ -2,6 +2,7 @@ package com.example.message.infrastructure.adapters.input.web.advice;
 
 import com.example.message.core.exceptions.abstracts.InfrastructureException;
 import com.example.message.core.exceptions.infrastructure.DatabaseUnavailableException;
+import com.example.message.core.exceptions.infrastructure.PasswordHashingUnavailableException;
 import com.example.message.infrastructure.adapters.input.web.responses.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
@@ -29,6 +30,22 @@ public class InfrastructureExceptionAdvice {
                 request.getRequestURI()));
   }
 
+  @ExceptionHandler(PasswordHashingUnavailableException.class)
+  public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(
+      PasswordHashingUnavailableException ex, HttpServletRequest request) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.add("Retry-After", "1");
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .headers(headers)
+        .body(
+            ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Busy",
+                ex.getMessage(),
+                request.getRequestURI()));
+  }
+
   @ExceptionHandler(InfrastructureException.class)
   public ResponseEntity<ErrorResponse> handleInfrastructureException(
       InfrastructureException ex, HttpServletRequest request) {
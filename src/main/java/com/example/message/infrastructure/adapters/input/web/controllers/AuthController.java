@@ -1,7 +1,6 @@
 package com.example.message.infrastructure.adapters.input.web.controllers;
 
 import com.example.message.core.domain.User;
-import com.example.message.core.exceptions.business.InvalidCredentialsException;
 import com.example.message.core.ports.input.UserUseCase;
 import com.example.message.core.ports.output.TokenRepositoryPort;
 import com.example.message.infrastructure.adapters.input.web.requests.LoginRequest;
@@ -9,8 +8,8 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -22,15 +21,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
   private final UserUseCase userUseCase;
   private final TokenRepositoryPort tokenRepositoryPort;
-  private final PasswordEncoder passwordEncoder;
+  private final int cookieMaxAge;
 
   public AuthController(
       UserUseCase userUseCase,
       TokenRepositoryPort tokenRepositoryPort,
-      PasswordEncoder passwordEncoder) {
+      @Value("${app.jwt.expiration:86400000}") long tokenLifetime) {
     this.userUseCase = userUseCase;
     this.tokenRepositoryPort = tokenRepositoryPort;
-    this.passwordEncoder = passwordEncoder;
+    this.cookieMaxAge = (int) (tokenLifetime / 1000);
   }
 
   @PostMapping("/login")
@@ -38,12 +37,7 @@ public class AuthController {
       @RequestBody LoginRequest request, HttpServletResponse response) {
     log.debug("Login attempt for email: {}", request.email());
 
-    User user = userUseCase.findByEmail(request.email());
-
-    if (user == null || !passwordEncoder.matches(request.password(), user.getPassword())) {
-      log.warn("Failed login attempt for email: {}", request.email());
-      throw new InvalidCredentialsException("Email or Password Incorrect");
-    }
+    User user = userUseCase.authenticate(request.email(), request.password());
 
     String token = tokenRepositoryPort.generateToken(user);
 
@@ -52,7 +46,7 @@ public class AuthController {
     cookie.setHttpOnly(true);
     cookie.setSecure(true);
     cookie.setPath("/");
-    cookie.setMaxAge(86400);
+    cookie.setMaxAge(cookieMaxAge);
 
     response.addCookie(cookie);
 
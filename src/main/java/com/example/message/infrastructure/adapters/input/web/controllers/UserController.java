@@ -1,26 +1,60 @@
 package com.example.message.infrastructure.adapters.input.web.controllers;
 
 import com.example.message.core.domain.User;
+import com.example.message.core.domain.UserPage;
+import com.example.message.core.exceptions.business.PreconditionFailedException;
 import com.example.message.core.ports.input.UserUseCase;
+import com.example.message.infrastructure.adapters.input.web.requests.BulkUserRequest;
+import com.example.message.infrastructure.adapters.input.web.requests.UserLookupRequest;
 import com.example.message.infrastructure.adapters.input.web.requests.UserRequest;
+import com.example.message.infrastructure.adapters.input.web.responses.BulkUserResponse;
+import com.example.message.infrastructure.adapters.input.web.responses.UserPageResponse;
 import com.example.message.infrastructure.adapters.input.web.responses.UserResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping("/api/users")
 @Validated
 public class UserController {
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  private static final byte[] NEWLINE = {'\n'};
+
   private final UserUseCase userUseCase;
+  private final ObjectWriter userWriter;
+  private final int exportBatchSize;
 
-  public UserController(UserUseCase userUseCase) {
+  public UserController(
+      UserUseCase userUseCase,
+      ObjectMapper objectMapper,
+      @Value("${app.export.batch-size:1000}") int exportBatchSize) {
     this.userUseCase = userUseCase;
+    this.userWriter =
+        objectMapper
+            .writerFor(UserResponse.class)
+            .withRootValueSeparator("\n")
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.exportBatchSize = exportBatchSize;
   }
 
   @PostMapping
@@ -45,24 +79,78 @@ public class UserController {
     return ResponseEntity.created(location).body(response);
   }
 
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkUserResponse> createBulk(@Valid @RequestBody BulkUserRequest request) {
+    List<User> users =
+        request.users().stream()
+            .map(
+                r -> User.builder().name(r.name()).email(r.email()).password(r.password()).build())
+            .toList();
+
+    return ResponseEntity.ok(BulkUserResponse.fromDomain(userUseCase.createUsers(users)));
+  }
+
   @GetMapping
-  public ResponseEntity<List<UserResponse>> getAll() {
-    List<UserResponse> responses =
-        userUseCase.listUsers().stream().map(UserResponse::fromDomain).toList();
+  public ResponseEntity<UserPageResponse> getAll(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20")
+          @Min(value = 1, message = "Limit must be at least 1")
+          @Max(value = UserPage.MAX_SIZE, message = "Limit must be at most 100")
+          int limit) {
+    return ResponseEntity.ok(UserPageResponse.fromDomain(userUseCase.listUsers(cursor, limit)));
+  }
 
-    return ResponseEntity.ok(responses);
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export() {
+    StreamingResponseBody body =
+        out -> {
+          try (SequenceWriter rows = userWriter.writeValues(out)) {
+            userUseCase.exportUsers(exportBatchSize, batch -> writeBatch(rows, batch));
+          }
+
+          out.write(NEWLINE);
+          out.flush();
+        };
+
+    return ResponseEntity.ok().contentType(NDJSON).body(body);
+  }
+
+  @PostMapping("/lookup")
+  public ResponseEntity<List<UserResponse>> lookup(@Valid @RequestBody UserLookupRequest request) {
+    Map<Long, UserResponse> users = new LinkedHashMap<>();
+
+    for (User user : userUseCase.findAllByIds(request.ids())) {
+      users.putIfAbsent(user.getId(), UserResponse.fromDomain(user));
+    }
+
+    for (User user : userUseCase.findAllByEmails(request.emails())) {
+      users.putIfAbsent(user.getId(), UserResponse.fromDomain(user));
+    }
+
+    return ResponseEntity.ok(List.copyOf(users.values()));
   }
 
   @GetMapping("/{id}")
   public ResponseEntity<UserResponse> find(
-      @PathVariable @Min(value = 1, message = "ID must be at least 1") Long id) {
+      @PathVariable @Min(value = 1, message = "ID must be at least 1") Long id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      Long version = userUseCase.findVersion(id);
+
+      if (version != null && matchesAny(ifNoneMatch, version)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(version)).build();
+      }
+    }
+
     User user = userUseCase.findById(id);
-    return ResponseEntity.ok(UserResponse.fromDomain(user));
+
+    return withETag(ResponseEntity.ok(), user).body(UserResponse.fromDomain(user));
   }
 
   @PatchMapping("/{id}")
   public ResponseEntity<UserResponse> update(
       @PathVariable @Min(value = 1, message = "ID must be at least 1") Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @Valid @RequestBody UserRequest request) {
     User domainUser =
         User.builder()
@@ -70,17 +158,73 @@ public class UserController {
             .name(request.name())
             .email(request.email())
             .password(request.password())
+            .version(expectedVersion(ifMatch))
             .build();
     User updatedUser = userUseCase.updateUser(domainUser);
 
-    return ResponseEntity.ok(UserResponse.fromDomain(updatedUser));
+    return withETag(ResponseEntity.ok(), updatedUser).body(UserResponse.fromDomain(updatedUser));
   }
 
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> delete(
-      @PathVariable @Min(value = 1, message = "ID must be at least 1") Long id) {
-    userUseCase.deleteUser(id);
+      @PathVariable @Min(value = 1, message = "ID must be at least 1") Long id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    userUseCase.deleteUser(id, expectedVersion(ifMatch));
 
     return ResponseEntity.noContent().build();
   }
+
+  private static ResponseEntity.BodyBuilder withETag(
+      ResponseEntity.BodyBuilder builder, User user) {
+    return user.getVersion() != null ? builder.eTag(etag(user.getVersion())) : builder;
+  }
+
+  private static String etag(long version) {
+    return "\"" + version + "\"";
+  }
+
+  private static boolean matchesAny(String header, long version) {
+    String current = etag(version);
+
+    for (String tag : header.split(",")) {
+      String candidate = tag.trim();
+
+      if (candidate.equals("*") || candidate.equals(current) || candidate.equals("W/" + current)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  // If-Match uses strong comparison, so weak or malformed tags can never match.
+  private static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+
+    String tag = ifMatch.trim();
+
+    if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+      try {
+        return Long.parseLong(tag.substring(1, tag.length() - 1));
+      } catch (NumberFormatException ignored) {
+        // fall through to the precondition failure below
+      }
+    }
+
+    throw new PreconditionFailedException("If-Match does not match the current user version");
+  }
+
+  private static void writeBatch(SequenceWriter rows, List<User> batch) {
+    try {
+      for (User user : batch) {
+        rows.write(UserResponse.fromDomain(user));
+      }
+
+      rows.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
@@ -0,0 +1,200 @@
+package com.example.message.infrastructure.adapters.input.web.filters;
+
+import com.example.message.infrastructure.adapters.input.web.responses.ErrorResponse;
+import com.example.message.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.example.message.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sheds API load with an immediate 503 once an endpoint group is at its adaptive concurrency
+ * limit, so a slow database turns into fast rejections instead of every Tomcat thread queueing
+ * for a pooled connection. Auth, reads and writes are limited separately because their latency
+ * baselines differ by orders of magnitude. Within a group, single-user reads may use the whole
+ * limit while list, export and bulk calls are the first to go.
+ *
+ * <p>Runs right after {@link TraceIdFilter} and ahead of Spring Security, so a shed request
+ * costs no token validation.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+  private static final String API_PREFIX = "/api/";
+  private static final String AUTH_PREFIX = "/api/auth/";
+  private static final String USERS = "/api/users";
+  private static final String USERS_PREFIX = "/api/users/";
+
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final Map<Group, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Group.class);
+  private final Map<Group, Map<Priority, Counter>> rejected = new EnumMap<>(Group.class);
+
+  public ConcurrencyLimitFilter(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      boolean enabled,
+      AdaptiveConcurrencyLimiter.Settings settings) {
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+
+    for (Group group : Group.values()) {
+      AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+      String tag = group.name().toLowerCase(Locale.ROOT);
+      limiters.put(group, limiter);
+
+      Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+          .description("Current adaptive concurrency limit")
+          .tag("group", tag)
+          .register(meterRegistry);
+      Gauge.builder("http.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inflight)
+          .description("Requests currently admitted")
+          .tag("group", tag)
+          .register(meterRegistry);
+
+      Map<Priority, Counter> counters = new EnumMap<>(Priority.class);
+
+      for (Priority priority : Priority.values()) {
+        counters.put(
+            priority,
+            Counter.builder("http.concurrency.rejected")
+                .description("Requests shed at the concurrency limit")
+                .tag("group", tag)
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+      }
+
+      rejected.put(group, counters);
+    }
+  }
+
+  enum Group {
+    AUTH,
+    READS,
+    WRITES
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled || !path(request).startsWith(API_PREFIX);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String path = path(request);
+    String method = request.getMethod();
+    Group group = group(method, path);
+    Priority priority = priority(method, path);
+    AdaptiveConcurrencyLimiter limiter = limiters.get(group);
+
+    if (!limiter.tryAcquire(priority)) {
+      rejected.get(group).get(priority).increment();
+      reject(request, response);
+      return;
+    }
+
+    long start = System.nanoTime();
+    boolean async = false;
+
+    try {
+      filterChain.doFilter(request, response);
+
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new Release(limiter, start));
+        async = true;
+      }
+    } finally {
+      if (!async) {
+        limiter.release(System.nanoTime() - start);
+      }
+    }
+  }
+
+  static Group group(String method, String path) {
+    if (path.startsWith(AUTH_PREFIX)) {
+      return Group.AUTH;
+    }
+
+    if (HttpMethod.GET.matches(method)
+        || HttpMethod.HEAD.matches(method)
+        || (HttpMethod.POST.matches(method) && path.equals(USERS_PREFIX + "lookup"))) {
+      return Group.READS;
+    }
+
+    return Group.WRITES;
+  }
+
+  static Priority priority(String method, String path) {
+    boolean get = HttpMethod.GET.matches(method);
+
+    if ((get && (path.equals(USERS) || path.equals(USERS_PREFIX + "export")))
+        || (HttpMethod.POST.matches(method) && path.equals(USERS_PREFIX + "bulk"))) {
+      return Priority.LOW;
+    }
+
+    if (get
+        && path.startsWith(USERS_PREFIX)
+        && path.length() > USERS_PREFIX.length()
+        && path.indexOf('/', USERS_PREFIX.length()) < 0) {
+      return Priority.CRITICAL;
+    }
+
+    return Priority.NORMAL;
+  }
+
+  private void reject(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(),
+        ErrorResponse.of(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Overloaded",
+            "The service is at capacity. Please try again later.",
+            request.getRequestURI()));
+  }
+
+  private static String path(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+
+  // The container calls onComplete after timeouts and errors too, so it is the single release.
+  private record Release(AdaptiveConcurrencyLimiter limiter, long start) implements AsyncListener {
+    @Override
+    public void onComplete(AsyncEvent event) {
+      limiter.release(System.nanoTime() - start);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {}
+
+    @Override
+    public void onError(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      event.getAsyncContext().addListener(this);
+    }
+  }
+}
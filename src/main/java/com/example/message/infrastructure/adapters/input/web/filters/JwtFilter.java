@@ -2,7 +2,6 @@ package com.example.message.infrastructure.adapters.input.web.filters;
 
 import com.example.message.core.domain.User;
 import com.example.message.core.ports.output.TokenRepositoryPort;
-import com.example.message.core.ports.output.UserRepositoryPort;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -10,19 +9,29 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
+  private static final List<GrantedAuthority> ADMIN =
+      List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+
   private final TokenRepositoryPort tokenRepositoryPort;
-  private final UserRepositoryPort userRepositoryPort;
+  private final Set<Long> adminUserIds;
 
-  public JwtFilter(TokenRepositoryPort tokenRepositoryPort, UserRepositoryPort userRepositoryPort) {
+  public JwtFilter(
+      TokenRepositoryPort tokenRepositoryPort,
+      @Value("${app.security.admin-user-ids:}") Set<Long> adminUserIds) {
     this.tokenRepositoryPort = tokenRepositoryPort;
-    this.userRepositoryPort = userRepositoryPort;
+    this.adminUserIds = adminUserIds;
   }
 
   @Override
@@ -41,12 +50,12 @@ public class JwtFilter extends OncePerRequestFilter {
     }
 
     if (token != null) {
-      String email = tokenRepositoryPort.validateToken(token);
+      User user = tokenRepositoryPort.validateToken(token);
 
-      if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        User user = userRepositoryPort.findByEmail(email);
+      if (user != null && SecurityContextHolder.getContext().getAuthentication() == null) {
         var authToken =
-            new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList());
+            new UsernamePasswordAuthenticationToken(
+                user, null, adminUserIds.contains(user.getId()) ? ADMIN : Collections.emptyList());
         SecurityContextHolder.getContext().setAuthentication(authToken);
       }
     }
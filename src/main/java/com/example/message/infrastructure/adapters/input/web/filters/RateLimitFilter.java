@@ -0,0 +1,264 @@
+package com.example.message.infrastructure.adapters.input.web.filters;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.adapters.input.web.responses.ErrorResponse;
+import com.example.message.infrastructure.ratelimit.RateLimit;
+import com.example.message.infrastructure.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Answers over-limit clients with a 429 before any controller or service work: login is limited
+ * per client address and per submitted email, signup per address, and every authenticated call per
+ * user. Sits right after {@link JwtFilter} so the principal is known.
+ *
+ * <p>Address limits key on {@code getRemoteAddr()}, which by default is the TCP peer. Behind a
+ * load balancer, set FORWARD_HEADERS_STRATEGY=native together with TRUSTED_PROXIES, a regex of the
+ * balancer addresses: Tomcat then takes the client address from X-Forwarded-For only when the peer
+ * matches. TRUSTED_PROXIES defaults to empty, which trusts no peer, rather than Tomcat's default of
+ * every private address, which would let any client on the same network pick its own address.
+ *
+ * <p>Limits only apply once the application reports ready. Until then the load balancer sends no
+ * traffic, so the warm-up runner's synthetic logins neither hit nor fill the buckets.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+  private static final String LOGIN_PATH = "/api/auth/login";
+  private static final String SIGNUP_PATH = "/api/users";
+
+  private final RateLimiter rateLimiter;
+  private final ApplicationAvailability availability;
+  private final ObjectMapper objectMapper;
+  private final Settings settings;
+  private final Map<String, Counter> rejected = new HashMap<>();
+
+  public RateLimitFilter(
+      RateLimiter rateLimiter,
+      ApplicationAvailability availability,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      Settings settings) {
+    this.rateLimiter = rateLimiter;
+    this.availability = availability;
+    this.objectMapper = objectMapper;
+    this.settings = settings;
+
+    Stream.of(
+            settings.loginPerAddress(),
+            settings.loginPerEmail(),
+            settings.signupPerAddress(),
+            settings.perUser())
+        .forEach(
+            limit ->
+                rejected.put(
+                    limit.name(),
+                    Counter.builder("http.rate.limited")
+                        .description("Requests rejected by a rate limit")
+                        .tag("rule", limit.name())
+                        .register(meterRegistry)));
+  }
+
+  public record Settings(
+      boolean enabled,
+      RateLimit loginPerAddress,
+      RateLimit loginPerEmail,
+      RateLimit signupPerAddress,
+      RateLimit perUser,
+      int maxBodyBytes) {}
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !settings.enabled()
+        || availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    HttpServletRequest forwarded = request;
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    boolean post = HttpMethod.POST.matches(request.getMethod());
+
+    if (post && LOGIN_PATH.equals(path)) {
+      if (!admit(settings.loginPerAddress(), request.getRemoteAddr(), request, response)) {
+        return;
+      }
+
+      // Read the body whatever Content-Length says, so chunked requests cannot skip the per-email
+      // limit; a login body past the cap is refused rather than forwarded half-read.
+      CachedBodyRequest cached = CachedBodyRequest.of(request, settings.maxBodyBytes());
+
+      if (cached == null) {
+        writeError(
+            HttpStatus.PAYLOAD_TOO_LARGE,
+            "Payload Too Large",
+            "Login request body is too large.",
+            request,
+            response);
+        return;
+      }
+
+      forwarded = cached;
+      String email = email(cached.body);
+
+      if (email != null && !admit(settings.loginPerEmail(), email, request, response)) {
+        return;
+      }
+    } else if (post && SIGNUP_PATH.equals(path)) {
+      if (!admit(settings.signupPerAddress(), request.getRemoteAddr(), request, response)) {
+        return;
+      }
+    }
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if (authentication != null
+        && authentication.getPrincipal() instanceof User user
+        && user.getId() != null
+        && !admit(settings.perUser(), user.getId().toString(), request, response)) {
+      return;
+    }
+
+    filterChain.doFilter(forwarded, response);
+  }
+
+  private boolean admit(
+      RateLimit limit, String key, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    long wait = rateLimiter.tryAcquire(limit, key);
+
+    if (wait <= 0) {
+      return true;
+    }
+
+    rejected.get(limit.name()).increment();
+    response.setHeader(
+        HttpHeaders.RETRY_AFTER,
+        Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+    writeError(
+        HttpStatus.TOO_MANY_REQUESTS,
+        "Too Many Requests",
+        "Rate limit exceeded. Please try again later.",
+        request,
+        response);
+
+    return false;
+  }
+
+  private void writeError(
+      HttpStatus status,
+      String error,
+      String message,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(),
+        ErrorResponse.of(status.value(), error, message, request.getRequestURI()));
+  }
+
+  private String email(byte[] body) {
+    try {
+      JsonNode email = objectMapper.readTree(body).get("email");
+
+      return email != null && email.isTextual()
+          ? email.asText().trim().toLowerCase(Locale.ROOT)
+          : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Replays a small body that was read up front so the controller can still bind it. */
+  private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    static CachedBodyRequest of(HttpServletRequest request, int maxBytes) throws IOException {
+      if (request.getContentLengthLong() > maxBytes) {
+        return null;
+      }
+
+      byte[] body = request.getInputStream().readNBytes(maxBytes + 1);
+
+      return body.length > maxBytes ? null : new CachedBodyRequest(request, body);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream in = new ByteArrayInputStream(body);
+
+      return new ServletInputStream() {
+        @Override
+        public int read() {
+          return in.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return in.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+          return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+          throw new UnsupportedOperationException("Cached request bodies are read synchronously");
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+
+      return new BufferedReader(
+          new InputStreamReader(
+              getInputStream(),
+              encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.message.infrastructure.adapters.input.web.filters;
+
+import com.example.message.infrastructure.resilience.RequestDeadline;
+import com.example.message.infrastructure.resilience.StaleRead;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+  private static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+  private final long maxBudget;
+
+  public RequestDeadlineFilter(@Value("${app.retry.request-budget:3000}") long maxBudget) {
+    this.maxBudget = maxBudget;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    try {
+      RequestDeadline.start(Duration.ofMillis(budget(request.getHeader(REQUEST_TIMEOUT_HEADER))));
+
+      filterChain.doFilter(request, response);
+    } finally {
+      RequestDeadline.clear();
+      StaleRead.clear();
+    }
+  }
+
+  private long budget(String header) {
+    if (header == null) {
+      return maxBudget;
+    }
+
+    try {
+      return Math.min(Math.max(Long.parseLong(header.trim()), 0), maxBudget);
+    } catch (NumberFormatException e) {
+      return maxBudget;
+    }
+  }
+}
@@ -1,27 +1,72 @@
 package com.example.message.infrastructure.adapters.input.web.filters;
 
+import com.example.message.infrastructure.tracing.Span;
+import com.example.message.infrastructure.tracing.SpanExporter;
+import com.example.message.infrastructure.tracing.TraceContext;
+import com.example.message.infrastructure.tracing.TraceSampler;
+import com.example.message.infrastructure.tracing.Tracing;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
+import java.util.List;
 import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class TraceIdFilter implements Filter {
   private static final String TRACE_ID = "traceId";
 
+  private final TraceSampler sampler;
+  private final SpanExporter exporter;
+
+  public TraceIdFilter(TraceSampler sampler, SpanExporter exporter) {
+    this.sampler = sampler;
+    this.exporter = exporter;
+  }
+
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain)
       throws IOException, ServletException {
+    HttpServletRequest httpRequest = (HttpServletRequest) request;
+    HttpServletResponse httpResponse = (HttpServletResponse) response;
+    TraceContext incoming = TraceContext.parse(httpRequest.getHeader(TraceContext.HEADER));
+    boolean sampled = sampler.sampleHead(incoming);
+    TraceContext context =
+        incoming != null ? incoming.child(sampled) : TraceContext.newRoot(sampled);
+    boolean recording =
+        exporter != SpanExporter.NONE && (sampled || sampler.recordsUnsampled());
+    long start = System.nanoTime();
+    Span span =
+        Tracing.begin(
+            context,
+            incoming != null ? incoming.spanId() : 0,
+            httpRequest.getMethod() + " " + httpRequest.getRequestURI(),
+            recording);
+    boolean failed = true;
+
     try {
-      MDC.put(TRACE_ID, UUID.randomUUID().toString().substring(0, 8));
+      MDC.put(TRACE_ID, context.traceId());
+      httpResponse.setHeader(TraceContext.HEADER, context.toTraceparent());
 
       filterChain.doFilter(request, response);
+      failed = false;
     } finally {
+      int status = failed ? 500 : httpResponse.getStatus();
+      Tracing.end(span, status >= 500);
+      List<Span> spans = Tracing.finish();
+
+      if (recording && sampler.keep(sampled, System.nanoTime() - start, status)) {
+        exporter.export(spans);
+      }
+
       MDC.remove(TRACE_ID);
     }
   }
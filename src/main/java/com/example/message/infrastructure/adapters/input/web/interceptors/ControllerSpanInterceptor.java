@@ -0,0 +1,49 @@
+package com.example.message.infrastructure.adapters.input.web.interceptors;
+
+import com.example.message.infrastructure.tracing.Span;
+import com.example.message.infrastructure.tracing.Tracing;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+public class ControllerSpanInterceptor implements AsyncHandlerInterceptor {
+  private static final String SPAN = ControllerSpanInterceptor.class.getName() + ".span";
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod method) {
+      Span span =
+          Tracing.start(
+              "controller",
+              method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+
+      if (span != null) {
+        request.setAttribute(SPAN, span);
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    end(request, ex != null || response.getStatus() >= 500);
+  }
+
+  // Streaming handlers finish on another thread; the span covers the synchronous part only.
+  @Override
+  public void afterConcurrentHandlingStarted(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    end(request, false);
+  }
+
+  private static void end(HttpServletRequest request, boolean error) {
+    if (request.getAttribute(SPAN) instanceof Span span) {
+      request.removeAttribute(SPAN);
+      Tracing.end(span, error);
+    }
+  }
+}
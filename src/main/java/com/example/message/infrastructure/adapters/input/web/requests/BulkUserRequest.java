@@ -0,0 +1,11 @@
+package com.example.message.infrastructure.adapters.input.web.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkUserRequest(
+    @NotEmpty(message = "Users cannot be empty")
+        @Size(max = 10000, message = "At most 10000 users can be created per request")
+        List<@Valid UserRequest> users) {}
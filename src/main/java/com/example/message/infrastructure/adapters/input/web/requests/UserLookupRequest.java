@@ -0,0 +1,13 @@
+package com.example.message.infrastructure.adapters.input.web.requests;
+
+import com.example.message.core.domain.UserPage;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record UserLookupRequest(
+    @Size(max = UserPage.MAX_SIZE, message = "At most 100 ids can be looked up per request")
+        List<@NotNull Long> ids,
+    @Size(max = UserPage.MAX_SIZE, message = "At most 100 emails can be looked up per request")
+        List<@NotNull @Email(message = "Invalid email format") String> emails) {}
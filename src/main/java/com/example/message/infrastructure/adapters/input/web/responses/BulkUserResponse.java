@@ -0,0 +1,21 @@
+package com.example.message.infrastructure.adapters.input.web.responses;
+
+import com.example.message.core.domain.BulkUserResult;
+import java.util.List;
+
+public record BulkUserResponse(int created, int failed, List<Row> results) {
+  public record Row(int index, String email, Long id, String error) {}
+
+  public static BulkUserResponse fromDomain(List<BulkUserResult> results) {
+    List<Row> rows =
+        results.stream()
+            .map(
+                r ->
+                    new Row(
+                        r.index(), r.email(), r.isCreated() ? r.user().getId() : null, r.error()))
+            .toList();
+    int created = (int) results.stream().filter(BulkUserResult::isCreated).count();
+
+    return new BulkUserResponse(created, results.size() - created, rows);
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.message.infrastructure.adapters.input.web.responses;
+
+import com.example.message.core.domain.UserPage;
+import java.util.List;
+
+public record UserPageResponse(List<UserResponse> users, String nextCursor) {
+  public static UserPageResponse fromDomain(UserPage page) {
+    return new UserPageResponse(
+        page.users().stream().map(UserResponse::fromDomain).toList(), page.nextCursor());
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long numBits;
+  private final int numHashes;
+  private final AtomicLong setBits = new AtomicLong();
+
+  BloomFilter(long numBits, int numHashes) {
+    this.words = new AtomicLongArray((int) ((numBits + 63) >>> 6));
+    this.numBits = (long) words.length() << 6;
+    this.numHashes = numHashes;
+  }
+
+  public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+    int hashes = Math.max(1, (int) Math.round((double) bits / n * LN2));
+
+    return new BloomFilter(bits, hashes);
+  }
+
+  public void put(String value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+    for (int i = 0; i < numHashes; i++) {
+      if (set(Math.floorMod(hash1 + i * hash2, numBits))) {
+        setBits.incrementAndGet();
+      }
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+    for (int i = 0; i < numHashes; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, numBits);
+
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /** Probability that an absent value is reported as present, given the current fill ratio. */
+  public double expectedFalsePositiveRate() {
+    return Math.pow((double) setBits.get() / numBits, numHashes);
+  }
+
+  public long bitSize() {
+    return numBits;
+  }
+
+  public int hashCount() {
+    return numHashes;
+  }
+
+  private boolean set(long bit) {
+    int index = (int) (bit >>> 6);
+    long mask = 1L << bit;
+    long word;
+
+    do {
+      word = words.get(index);
+
+      if ((word & mask) != 0) {
+        return false;
+      }
+    } while (!words.compareAndSet(index, word, word | mask));
+
+    return true;
+  }
+
+  private static long hash(String value) {
+    long hash = 0xCBF29CE484222325L;
+
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001B3L;
+    }
+
+    return mix(hash);
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+  private final TwoLevelCacheManager cacheManager;
+  private final String nodeId;
+
+  public CacheInvalidationListener(TwoLevelCacheManager cacheManager, String nodeId) {
+    this.cacheManager = cacheManager;
+    this.nodeId = nodeId;
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts =
+        new String(message.getBody(), StandardCharsets.UTF_8)
+            .split(CacheInvalidationPublisher.SEPARATOR, 3);
+
+    if (parts.length < 2 || nodeId.equals(parts[0])) {
+      return;
+    }
+
+    TwoLevelCache cache = cacheManager.getNearCache(parts[1]);
+
+    if (cache == null) {
+      return;
+    }
+
+    if (parts.length == 3) {
+      log.debug("Evicting near cache entry {}::{} on remote invalidation", parts[1], parts[2]);
+      cache.evictLocal(parts[2]);
+    } else {
+      log.debug("Clearing near cache {} on remote invalidation", parts[1]);
+      cache.clearLocal();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Slf4j
+public class CacheInvalidationPublisher {
+  static final String SEPARATOR = "\n";
+
+  private final StringRedisTemplate redisTemplate;
+  private final String channel;
+  private final String nodeId;
+
+  public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+    this.redisTemplate = redisTemplate;
+    this.channel = channel;
+    this.nodeId = UUID.randomUUID().toString();
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public void publishEvict(String cacheName, String key) {
+    publish(cacheName + SEPARATOR + key);
+  }
+
+  public void publishClear(String cacheName) {
+    publish(cacheName);
+  }
+
+  private void publish(String payload) {
+    try {
+      redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + payload);
+    } catch (RuntimeException e) {
+      log.warn("Failed to publish cache invalidation on {}: {}", channel, e.getMessage());
+    }
+  }
+}
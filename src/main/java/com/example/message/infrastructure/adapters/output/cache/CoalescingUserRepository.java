@@ -0,0 +1,482 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.adapters.output.db.repositories.JpaUserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@Slf4j
+public class CoalescingUserRepository implements UserRepositoryPort {
+  private static final String LOCK_PREFIX = "lock:";
+  private static final long LOCK_POLL_INTERVAL = 25;
+  private static final int VERSION_PREFIX = 32;
+  private static final RedisScript<Long> RELEASE_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('del', KEYS[1]) else return 0 end",
+          Long.class);
+
+  private final JpaUserRepository delegate;
+  private final CacheManager cacheManager;
+  private final StringRedisTemplate redisTemplate;
+  private final RedisSerializer<Object> valueSerializer;
+  private final EmailExistenceFilter emailFilter;
+  private final HotUserKeys hotUserKeys;
+  private final Settings settings;
+  private final Map<String, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+  private final com.github.benmanes.caffeine.cache.Cache<String, LoadStamp> loadStamps;
+  private final ExecutorService refreshExecutor;
+
+  public CoalescingUserRepository(
+      JpaUserRepository delegate,
+      CacheManager cacheManager,
+      StringRedisTemplate redisTemplate,
+      RedisSerializer<Object> valueSerializer,
+      EmailExistenceFilter emailFilter,
+      HotUserKeys hotUserKeys,
+      Settings settings) {
+    this.delegate = delegate;
+    this.cacheManager = cacheManager;
+    this.redisTemplate = redisTemplate;
+    this.valueSerializer = valueSerializer;
+    this.emailFilter = emailFilter;
+    this.hotUserKeys = hotUserKeys;
+    this.settings = settings;
+    this.loadStamps =
+        Caffeine.newBuilder()
+            .maximumSize(settings.maxTrackedKeys())
+            .expireAfterWrite(settings.timeToLive())
+            .build();
+    this.refreshExecutor =
+        new ThreadPoolExecutor(
+            settings.refreshThreads(),
+            settings.refreshThreads(),
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(settings.refreshQueueCapacity()),
+            new ThreadPoolExecutor.DiscardPolicy());
+  }
+
+  public record Settings(
+      boolean lockEnabled,
+      Duration lockLease,
+      Duration lockWait,
+      Duration timeToLive,
+      double earlyRefreshBeta,
+      int maxTrackedKeys,
+      int refreshThreads,
+      int refreshQueueCapacity) {}
+
+  private record LoadStamp(long expiresAt, long computeNanos) {}
+
+  @Override
+  public User save(User user) {
+    emailFilter.add(user.getEmail());
+
+    return delegate.save(user);
+  }
+
+  @Override
+  public List<User> saveAll(List<User> users) {
+    users.forEach(user -> emailFilter.add(user.getEmail()));
+
+    return delegate.saveAll(users);
+  }
+
+  @Override
+  public User update(User user) {
+    emailFilter.add(user.getEmail());
+
+    return delegate.update(user);
+  }
+
+  @Override
+  public Set<String> findExistingEmails(Collection<String> emails) {
+    List<String> candidates = emails.stream().filter(emailFilter::mightExist).toList();
+
+    return candidates.isEmpty() ? Set.of() : delegate.findExistingEmails(candidates);
+  }
+
+  @Override
+  public List<User> findPage(Long afterId, int limit) {
+    return delegate.findPage(afterId, limit);
+  }
+
+  @Override
+  public List<User> findExportBatch(Long afterId, int limit) {
+    return delegate.findExportBatch(afterId, limit);
+  }
+
+  @Override
+  public User find(Long id) {
+    hotUserKeys.record(id);
+
+    return load(
+        UserCacheInvalidator.USER_BY_ID,
+        id,
+        () -> delegate.find(id),
+        () -> delegate.reloadById(id));
+  }
+
+  @Override
+  public User findByEmail(String email) {
+    // May miss an email registered on another node until the filter syncs; see the filter docs.
+    if (!emailFilter.mightExist(email)) {
+      return null;
+    }
+
+    User user =
+        load(
+            UserCacheInvalidator.USER_BY_EMAIL,
+            email,
+            () -> delegate.findByEmail(email),
+            () -> delegate.reloadByEmail(email));
+
+    if (user == null) {
+      emailFilter.recordFalsePositive();
+    }
+
+    return user;
+  }
+
+  @Override
+  public List<User> findAllByIds(Collection<Long> ids) {
+    return findAll(UserCacheInvalidator.USER_BY_ID, ids, delegate::findAllByIds, User::getId);
+  }
+
+  @Override
+  public List<User> findAllByEmails(Collection<String> emails) {
+    List<String> candidates = emails.stream().filter(emailFilter::mightExist).toList();
+
+    return findAll(
+        UserCacheInvalidator.USER_BY_EMAIL, candidates, delegate::findAllByEmails, User::getEmail);
+  }
+
+  @Override
+  public Long findVersion(Long id) {
+    Cache cache = cacheManager.getCache(UserCacheInvalidator.USER_BY_ID);
+
+    if (cache instanceof TwoLevelCache twoLevelCache
+        && twoLevelCache.peekLocal(id) instanceof User user
+        && user.getVersion() != null) {
+      return user.getVersion();
+    }
+
+    Long cachedVersion = peekRemoteVersion(id);
+
+    return cachedVersion != null ? cachedVersion : delegate.findVersion(id);
+  }
+
+  @Override
+  public void delete(Long id, Long expectedVersion) {
+    delegate.delete(id, expectedVersion);
+  }
+
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  private User load(
+      String cacheName, Object key, Supplier<User> loader, Supplier<User> reloader) {
+    String flightKey = cacheName + "::" + key;
+    Cache cache = cacheManager.getCache(cacheName);
+    User cached = cache != null ? cache.get(key, User.class) : null;
+
+    if (cached != null) {
+      if (shouldRefreshEarly(flightKey)) {
+        refreshExecutor.execute(() -> coalesce(flightKey, () -> timed(flightKey, reloader)));
+      }
+
+      return cached;
+    }
+
+    return coalesce(flightKey, () -> loadWithLease(flightKey, cache, key, loader));
+  }
+
+  // Resolves near-cache hits in memory, the rest with one MGET, and all remaining misses with a
+  // single delegate query whose rows are written back in one pipeline.
+  private <K> List<User> findAll(
+      String cacheName,
+      Collection<K> keys,
+      Function<Collection<K>, List<User>> loader,
+      Function<User, K> keyOf) {
+    Map<K, User> found = new HashMap<>();
+    List<K> remoteKeys = new ArrayList<>(keys.size());
+    Cache cache = cacheManager.getCache(cacheName);
+
+    for (K key : keys) {
+      if (cache instanceof TwoLevelCache twoLevelCache
+          && twoLevelCache.peekLocal(key) instanceof User user) {
+        found.put(key, user);
+      } else {
+        remoteKeys.add(key);
+      }
+    }
+
+    List<K> misses = multiGet(cacheName, remoteKeys, found);
+
+    if (!misses.isEmpty()) {
+      List<User> loaded = loader.apply(misses);
+
+      loaded.forEach(user -> found.put(keyOf.apply(user), user));
+      backfill(loaded);
+    }
+
+    return keys.stream().map(found::get).filter(Objects::nonNull).toList();
+  }
+
+  private <K> List<K> multiGet(String cacheName, List<K> keys, Map<K, User> found) {
+    if (keys.isEmpty()) {
+      return keys;
+    }
+
+    List<byte[]> values;
+
+    try {
+      byte[][] redisKeys =
+          keys.stream().map(key -> redisKey(cacheName, key)).toArray(byte[][]::new);
+      values =
+          redisTemplate.execute(
+              (RedisCallback<List<byte[]>>)
+                  connection -> connection.stringCommands().mGet(redisKeys));
+    } catch (RuntimeException e) {
+      log.warn("Batch cache read from {} failed: {}", cacheName, e.getMessage());
+      return keys;
+    }
+
+    if (values == null) {
+      return keys;
+    }
+
+    List<K> misses = new ArrayList<>();
+
+    for (int i = 0; i < keys.size(); i++) {
+      Object value = values.get(i) != null ? deserialize(values.get(i)) : null;
+
+      if (value instanceof User user) {
+        found.put(keys.get(i), user);
+      } else {
+        misses.add(keys.get(i));
+      }
+    }
+
+    return misses;
+  }
+
+  // Batch loads carry no password hash, so they only ever go back into userById; a userByEmail
+  // entry without the hash would fail every login until it expired. SET NX so a batch that read
+  // the database before a concurrent update cannot overwrite the fresher entry it wrote back.
+  private void backfill(List<User> users) {
+    if (users.isEmpty()) {
+      return;
+    }
+
+    Expiration ttl = Expiration.from(settings.timeToLive());
+
+    try {
+      redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                for (User user : users) {
+                  connection
+                      .stringCommands()
+                      .set(
+                          redisKey(UserCacheInvalidator.USER_BY_ID, user.getId()),
+                          valueSerializer.serialize(user),
+                          ttl,
+                          SetOption.ifAbsent());
+                }
+
+                return null;
+              });
+    } catch (RuntimeException e) {
+      log.warn("Batch cache backfill of {} users failed: {}", users.size(), e.getMessage());
+    }
+  }
+
+  private Object deserialize(byte[] value) {
+    try {
+      return valueSerializer.deserialize(value);
+    } catch (RuntimeException e) {
+      log.warn("Skipping unreadable cache entry: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private static byte[] redisKey(String cacheName, Object key) {
+    return (cacheName + "::" + key).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private Long peekRemoteVersion(Long id) {
+    byte[] key = redisKey(UserCacheInvalidator.USER_BY_ID, id);
+
+    try {
+      return UserCacheSerializer.peekVersion(
+          redisTemplate.execute(
+              (RedisCallback<byte[]>)
+                  connection -> connection.stringCommands().getRange(key, 0, VERSION_PREFIX - 1)));
+    } catch (RuntimeException e) {
+      log.warn("Failed to read cached version for user {}: {}", id, e.getMessage());
+      return null;
+    }
+  }
+
+  private User coalesce(String flightKey, Supplier<User> loader) {
+    CompletableFuture<User> future = new CompletableFuture<>();
+    CompletableFuture<User> existing = inFlight.putIfAbsent(flightKey, future);
+
+    if (existing != null) {
+      log.debug("Joining in-flight load for {}", flightKey);
+      return join(existing);
+    }
+
+    try {
+      User user = loader.get();
+      future.complete(user);
+      return user;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(flightKey, future);
+    }
+  }
+
+  private User loadWithLease(String flightKey, Cache cache, Object key, Supplier<User> loader) {
+    if (!settings.lockEnabled()) {
+      return timed(flightKey, loader);
+    }
+
+    String lockKey = LOCK_PREFIX + flightKey;
+    String token = UUID.randomUUID().toString();
+    Boolean acquired = tryAcquire(lockKey, token);
+
+    if (Boolean.FALSE.equals(acquired) && cache != null) {
+      User loadedElsewhere = awaitRemoteLoad(cache, key);
+
+      if (loadedElsewhere != null) {
+        return loadedElsewhere;
+      }
+    }
+
+    try {
+      return timed(flightKey, loader);
+    } finally {
+      if (Boolean.TRUE.equals(acquired)) {
+        release(lockKey, token);
+      }
+    }
+  }
+
+  private Boolean tryAcquire(String lockKey, String token) {
+    try {
+      return redisTemplate.opsForValue().setIfAbsent(lockKey, token, settings.lockLease());
+    } catch (RuntimeException e) {
+      log.warn("Unable to acquire load lease {}: {}", lockKey, e.getMessage());
+      return null;
+    }
+  }
+
+  private void release(String lockKey, String token) {
+    try {
+      redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+    } catch (RuntimeException e) {
+      log.warn("Unable to release load lease {}: {}", lockKey, e.getMessage());
+    }
+  }
+
+  private User awaitRemoteLoad(Cache cache, Object key) {
+    long deadline = System.nanoTime() + settings.lockWait().toNanos();
+
+    while (System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(LOCK_POLL_INTERVAL);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+
+      User user = cache.get(key, User.class);
+
+      if (user != null) {
+        return user;
+      }
+    }
+
+    return null;
+  }
+
+  private User timed(String flightKey, Supplier<User> loader) {
+    long start = System.nanoTime();
+    User user = loader.get();
+    long elapsed = System.nanoTime() - start;
+
+    if (user != null) {
+      loadStamps.put(
+          flightKey, new LoadStamp(start + settings.timeToLive().toNanos(), elapsed));
+    }
+
+    return user;
+  }
+
+  private boolean shouldRefreshEarly(String flightKey) {
+    if (settings.earlyRefreshBeta() <= 0) {
+      return false;
+    }
+
+    LoadStamp stamp = loadStamps.getIfPresent(flightKey);
+
+    if (stamp == null || inFlight.containsKey(flightKey)) {
+      return false;
+    }
+
+    double gap =
+        -stamp.computeNanos()
+            * settings.earlyRefreshBeta()
+            * Math.log(ThreadLocalRandom.current().nextDouble());
+
+    return System.nanoTime() + gap >= stamp.expiresAt();
+  }
+
+  private static User join(CompletableFuture<User> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw e;
+    }
+  }
+}
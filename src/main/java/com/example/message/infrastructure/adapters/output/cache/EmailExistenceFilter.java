@@ -0,0 +1,267 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import com.example.message.infrastructure.adapters.output.db.jpa.UserEmailChange;
+import com.example.message.infrastructure.adapters.output.db.jpa.UserEmailRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Node-local Bloom filter over registered emails, so lookups for addresses that were never
+ * registered can be answered without a database round trip.
+ *
+ * <p>Emails written on this node are added immediately and announced to the other nodes over Redis
+ * pub/sub. Pub/sub is fire-and-forget, so each node also sweeps rows whose updated_at passed the
+ * last sweep's watermark, which catches inserts from other nodes' id blocks as well as email
+ * changes, and periodically rebuilds from scratch, which also sheds the bits of deleted users.
+ *
+ * <p>Negatives are therefore only eventually correct: an email registered on another node is
+ * unknown here until its message arrives, or, if the message was lost, until the next sweep (the
+ * sync interval). In that window a login for the new user answers 401 and the signup pre-check
+ * passes, which is safe because the unique constraint still rejects the duplicate with a 409.
+ */
+@Slf4j
+public class EmailExistenceFilter implements MessageListener {
+  private static final String SEPARATOR = "\n";
+  // Re-read this much before the watermark: rows are stamped before their transaction commits
+  // and by several clocks, so a late commit can land slightly behind rows already swept.
+  private static final Duration SWEEP_OVERLAP = Duration.ofMinutes(1);
+
+  private final JpaUserRepo repository;
+  private final StringRedisTemplate redisTemplate;
+  private final Settings settings;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Counter negatives;
+  private final Counter positives;
+  private final Counter falsePositives;
+  // Not synchronized: scans hold the lock across JDBC calls and would pin virtual threads.
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile BloomFilter filter;
+  private volatile BloomFilter rebuilding;
+  private volatile Instant watermark;
+
+  public EmailExistenceFilter(
+      JpaUserRepo repository,
+      StringRedisTemplate redisTemplate,
+      Settings settings,
+      MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.redisTemplate = redisTemplate;
+    this.settings = settings;
+    this.negatives = checks(meterRegistry, "negative");
+    this.positives = checks(meterRegistry, "positive");
+    this.falsePositives =
+        Counter.builder("user.email.filter.false.positives")
+            .description("Lookups the filter let through that found no user")
+            .register(meterRegistry);
+
+    Gauge.builder(
+            "user.email.filter.false.positive.rate",
+            this,
+            EmailExistenceFilter::expectedFalsePositiveRate)
+        .description("False positive rate expected from the current fill ratio")
+        .register(meterRegistry);
+  }
+
+  public record Settings(
+      boolean enabled,
+      String channel,
+      long expectedInsertions,
+      double falsePositiveRate,
+      int batchSize) {}
+
+  public String getChannel() {
+    return settings.channel();
+  }
+
+  /** False only when the email is definitely not registered; always true until the first build. */
+  public boolean mightExist(String email) {
+    BloomFilter current = filter;
+
+    if (current == null || email == null) {
+      return true;
+    }
+
+    if (current.mightContain(email)) {
+      positives.increment();
+      return true;
+    }
+
+    negatives.increment();
+    return false;
+  }
+
+  public void recordFalsePositive() {
+    if (filter != null) {
+      falsePositives.increment();
+    }
+  }
+
+  public void add(String email) {
+    if (!settings.enabled() || email == null) {
+      return;
+    }
+
+    addLocal(email);
+
+    try {
+      redisTemplate.convertAndSend(settings.channel(), nodeId + SEPARATOR + email);
+    } catch (RuntimeException e) {
+      log.warn("Failed to publish email filter addition: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 2);
+
+    if (parts.length == 2 && !nodeId.equals(parts[0])) {
+      addLocal(parts[1]);
+    }
+  }
+
+  @Scheduled(
+      initialDelay = 0,
+      fixedDelayString = "${app.cache.email-filter.sync-interval:10000}")
+  public void sync() {
+    if (!settings.enabled()) {
+      return;
+    }
+
+    lock.lock();
+
+    try {
+      if (filter == null) {
+        rebuildLocked();
+        return;
+      }
+
+      watermark = sweep(filter, watermark);
+    } catch (RuntimeException e) {
+      log.warn("Email filter sweep failed: {}", e.getMessage());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${app.cache.email-filter.rebuild-interval:3600000}",
+      fixedDelayString = "${app.cache.email-filter.rebuild-interval:3600000}")
+  public void rebuild() {
+    if (!settings.enabled()) {
+      return;
+    }
+
+    lock.lock();
+
+    try {
+      rebuildLocked();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void rebuildLocked() {
+    Instant start = Instant.now();
+    long rows = repository.count();
+    BloomFilter next =
+        BloomFilter.create(
+            Math.max(settings.expectedInsertions(), rows * 2), settings.falsePositiveRate());
+
+    rebuilding = next;
+
+    try {
+      scan(next);
+
+      filter = next;
+      watermark = start;
+      log.info(
+          "Rebuilt email filter from {} users in {} ms ({} bits, {} hashes)",
+          rows,
+          Duration.between(start, Instant.now()).toMillis(),
+          next.bitSize(),
+          next.hashCount());
+    } catch (RuntimeException e) {
+      log.warn("Email filter rebuild failed, keeping the previous filter: {}", e.getMessage());
+    } finally {
+      rebuilding = null;
+    }
+  }
+
+  public double expectedFalsePositiveRate() {
+    BloomFilter current = filter;
+
+    return current != null ? current.expectedFalsePositiveRate() : 0;
+  }
+
+  private void scan(BloomFilter target) {
+    long afterId = 0L;
+    List<UserEmailRow> rows;
+
+    do {
+      rows = repository.findEmailsAfter(afterId, Limit.of(settings.batchSize()));
+
+      for (UserEmailRow row : rows) {
+        target.put(row.getEmail());
+        afterId = row.getId();
+      }
+    } while (rows.size() == settings.batchSize());
+  }
+
+  private Instant sweep(BloomFilter target, Instant since) {
+    Instant next = since;
+    Instant cursor = since.minus(SWEEP_OVERLAP);
+    long afterId = 0L;
+    List<UserEmailChange> rows;
+
+    do {
+      rows = repository.findEmailsUpdatedSince(cursor, afterId, Limit.of(settings.batchSize()));
+
+      for (UserEmailChange row : rows) {
+        target.put(row.getEmail());
+        cursor = row.getUpdatedAt();
+        afterId = row.getId();
+
+        if (cursor.isAfter(next)) {
+          next = cursor;
+        }
+      }
+    } while (rows.size() == settings.batchSize());
+
+    return next;
+  }
+
+  private void addLocal(String email) {
+    BloomFilter current = filter;
+    BloomFilter next = rebuilding;
+
+    if (current != null) {
+      current.put(email);
+    }
+
+    if (next != null) {
+      next.put(email);
+    }
+  }
+
+  private static Counter checks(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("user.email.filter.checks")
+        .description("Email existence checks answered by the filter")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
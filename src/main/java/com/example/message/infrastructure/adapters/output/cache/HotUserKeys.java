@@ -0,0 +1,85 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Remembers which users were read recently and persists them to a Redis sorted set scored by last
+ * access time, so a freshly started node knows which keys are worth preloading.
+ */
+@Slf4j
+public class HotUserKeys {
+  private final StringRedisTemplate redisTemplate;
+  private final String key;
+  private final int maxKeys;
+  private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+
+  public HotUserKeys(StringRedisTemplate redisTemplate, String key, int maxKeys) {
+    this.redisTemplate = redisTemplate;
+    this.key = key;
+    this.maxKeys = maxKeys;
+  }
+
+  public void record(Long id) {
+    if (id != null && touched.size() < maxKeys) {
+      touched.add(id);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.warmup.hot-keys.flush-interval:60000}")
+  public void flush() {
+    if (touched.isEmpty()) {
+      return;
+    }
+
+    List<Long> ids = new ArrayList<>(touched);
+    ids.forEach(touched::remove);
+
+    byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+    double now = System.currentTimeMillis();
+
+    try {
+      redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                for (Long id : ids) {
+                  connection
+                      .zSetCommands()
+                      .zAdd(rawKey, now, id.toString().getBytes(StandardCharsets.UTF_8));
+                }
+
+                connection.zSetCommands().zRemRange(rawKey, 0, -(maxKeys + 1L));
+                return null;
+              });
+    } catch (RuntimeException e) {
+      log.warn("Failed to persist {} hot user keys: {}", ids.size(), e.getMessage());
+    }
+  }
+
+  /** Most recently read user ids, newest first. */
+  public List<Long> mostRecent(int limit) {
+    Set<String> members = redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1L);
+    List<Long> ids = new ArrayList<>();
+
+    if (members == null) {
+      return ids;
+    }
+
+    for (String member : members) {
+      try {
+        ids.add(Long.valueOf(member));
+      } catch (NumberFormatException e) {
+        log.debug("Ignoring malformed hot key member {}", member);
+      }
+    }
+
+    return ids;
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.example.message.infrastructure.adapters.output.db.repositories.JpaUserRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class StaleReadRefresher {
+  private final JpaUserRepository repository;
+  private final StaleUserCache staleCache;
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "stale-read-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public StaleReadRefresher(
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      JpaUserRepository repository,
+      StaleUserCache staleCache) {
+    this.repository = repository;
+    this.staleCache = staleCache;
+
+    circuitBreakerRegistry
+        .circuitBreaker("userRepository")
+        .getEventPublisher()
+        .onStateTransition(this::onStateTransition);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void onStateTransition(CircuitBreakerOnStateTransitionEvent event) {
+    CircuitBreaker.State state = event.getStateTransition().getToState();
+
+    if (state != CircuitBreaker.State.HALF_OPEN && state != CircuitBreaker.State.CLOSED) {
+      return;
+    }
+
+    if (draining.compareAndSet(false, true)) {
+      executor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    int refreshed = 0;
+
+    try {
+      for (Long id : staleCache.servedIds()) {
+        repository.reloadById(id);
+        staleCache.servedIds().remove(id);
+        refreshed++;
+      }
+
+      for (String email : staleCache.servedEmails()) {
+        repository.reloadByEmail(email);
+        staleCache.servedEmails().remove(email);
+        refreshed++;
+      }
+    } catch (RuntimeException e) {
+      log.debug("Stopped refreshing stale reads after {}: {}", refreshed, e.getMessage());
+    } finally {
+      draining.set(false);
+    }
+
+    if (refreshed > 0) {
+      log.info("Refreshed {} users served stale while the database was unavailable", refreshed);
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.resilience.StaleRead;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class StaleUserCache {
+  public static final String USERS = "usersStale";
+  public static final String USER_BY_ID = "userByIdStale";
+  public static final String USER_BY_EMAIL = "userByEmailStale";
+
+  private final CacheManager cacheManager;
+  private final int maxTrackedKeys;
+  private final Set<Long> servedIds = ConcurrentHashMap.newKeySet();
+  private final Set<String> servedEmails = ConcurrentHashMap.newKeySet();
+
+  public StaleUserCache(
+      CacheManager cacheManager,
+      @Value("${app.cache.stale.max-tracked-keys:10000}") int maxTrackedKeys) {
+    this.cacheManager = cacheManager;
+    this.maxTrackedKeys = maxTrackedKeys;
+  }
+
+  public void putById(User user) {
+    put(USER_BY_ID, user.getId(), user);
+  }
+
+  // The stale tier outlives password changes by up to a day, so it never holds the hash: a login
+  // served from it could otherwise succeed with a password that was already replaced.
+  public void putByEmail(User user) {
+    put(
+        USER_BY_EMAIL,
+        user.getEmail(),
+        User.builder()
+            .id(user.getId())
+            .name(user.getName())
+            .email(user.getEmail())
+            .version(user.getVersion())
+            .build());
+  }
+
+  public void putPage(String key, List<User> users) {
+    put(USERS, key, users);
+  }
+
+  public void evictById(Long id) {
+    evict(USER_BY_ID, id);
+  }
+
+  public void evictByEmail(String email) {
+    evict(USER_BY_EMAIL, email);
+  }
+
+  public User serveById(Long id) {
+    User user = get(USER_BY_ID, id, User.class);
+
+    if (user != null && servedIds.size() < maxTrackedKeys) {
+      servedIds.add(id);
+    }
+
+    return user;
+  }
+
+  public User serveByEmail(String email) {
+    User user = get(USER_BY_EMAIL, email, User.class);
+
+    if (user != null && servedEmails.size() < maxTrackedKeys) {
+      servedEmails.add(email);
+    }
+
+    return user;
+  }
+
+  public List<User> servePage(String key) {
+    Object cached = get(USERS, key, Object.class);
+
+    if (cached instanceof List<?> rawList) {
+      return rawList.stream().filter(User.class::isInstance).map(User.class::cast).toList();
+    }
+
+    return null;
+  }
+
+  public Set<Long> servedIds() {
+    return servedIds;
+  }
+
+  public Set<String> servedEmails() {
+    return servedEmails;
+  }
+
+  private <T> T get(String cacheName, Object key, Class<T> type) {
+    Cache cache = cacheManager.getCache(cacheName);
+
+    if (cache == null || key == null) {
+      return null;
+    }
+
+    try {
+      T value = cache.get(key, type);
+
+      if (value != null) {
+        log.debug("Serving last known good {} for {}", cacheName, key);
+        StaleRead.mark();
+      }
+
+      return value;
+    } catch (RuntimeException e) {
+      log.warn("Last known good lookup in {} failed: {}", cacheName, e.getMessage());
+      return null;
+    }
+  }
+
+  private void put(String cacheName, Object key, Object value) {
+    Cache cache = cacheManager.getCache(cacheName);
+
+    if (cache == null || key == null) {
+      return;
+    }
+
+    try {
+      cache.put(key, value);
+    } catch (RuntimeException e) {
+      log.warn("Failed to store last known good {} for {}: {}", cacheName, key, e.getMessage());
+    }
+  }
+
+  private void evict(String cacheName, Object key) {
+    Cache cache = cacheManager.getCache(cacheName);
+
+    if (cache != null && key != null) {
+      cache.evict(key);
+    }
+  }
+}
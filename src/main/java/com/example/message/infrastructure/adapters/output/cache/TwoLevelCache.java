@@ -0,0 +1,146 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+public class TwoLevelCache implements Cache {
+  private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+  private final Cache remote;
+  private final CacheInvalidationPublisher publisher;
+
+  public TwoLevelCache(
+      com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+      Cache remote,
+      CacheInvalidationPublisher publisher) {
+    this.local = local;
+    this.remote = remote;
+    this.publisher = publisher;
+  }
+
+  @Override
+  public String getName() {
+    return remote.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return remote.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    String localKey = localKey(key);
+    Object value = local.getIfPresent(localKey);
+
+    if (value != null) {
+      return new SimpleValueWrapper(value);
+    }
+
+    ValueWrapper wrapper = remote.get(key);
+
+    if (wrapper != null && wrapper.get() != null) {
+      local.put(localKey, wrapper.get());
+    }
+
+    return wrapper;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object value = wrapper != null ? wrapper.get() : null;
+
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+
+    return (T) value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    String localKey = localKey(key);
+    Object value = local.getIfPresent(localKey);
+
+    if (value != null) {
+      return (T) value;
+    }
+
+    T loaded = remote.get(key, valueLoader);
+
+    if (loaded != null) {
+      local.put(localKey, loaded);
+    }
+
+    return loaded;
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    remote.put(key, value);
+
+    String localKey = localKey(key);
+
+    if (value != null) {
+      local.put(localKey, value);
+    } else {
+      local.invalidate(localKey);
+    }
+
+    publisher.publishEvict(getName(), localKey);
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+
+    String localKey = localKey(key);
+
+    local.invalidate(localKey);
+    publisher.publishEvict(getName(), localKey);
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    local.invalidateAll();
+    publisher.publishClear(getName());
+  }
+
+  public Object peekLocal(Object key) {
+    return local.getIfPresent(localKey(key));
+  }
+
+  public void putLocal(Object key, Object value) {
+    local.put(localKey(key), value);
+  }
+
+  public void evictLocal(String key) {
+    local.invalidate(key);
+  }
+
+  public void clearLocal() {
+    local.invalidateAll();
+  }
+
+  public long localSize() {
+    return local.estimatedSize();
+  }
+
+  public CacheStats localStats() {
+    return local.stats();
+  }
+
+  public Cache getRemote() {
+    return remote;
+  }
+
+  private static String localKey(Object key) {
+    return String.valueOf(key);
+  }
+}
@@ -0,0 +1,61 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+public class TwoLevelCacheManager implements CacheManager {
+  private final CacheManager remote;
+  private final Set<String> nearCacheNames;
+  private final long maximumSize;
+  private final Duration timeToLive;
+  private final CacheInvalidationPublisher publisher;
+  private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+  public TwoLevelCacheManager(
+      CacheManager remote,
+      Set<String> nearCacheNames,
+      long maximumSize,
+      Duration timeToLive,
+      CacheInvalidationPublisher publisher) {
+    this.remote = remote;
+    this.nearCacheNames = nearCacheNames;
+    this.maximumSize = maximumSize;
+    this.timeToLive = timeToLive;
+    this.publisher = publisher;
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    if (!nearCacheNames.contains(name)) {
+      return remote.getCache(name);
+    }
+
+    return caches.computeIfAbsent(name, this::createCache);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return remote.getCacheNames();
+  }
+
+  public TwoLevelCache getNearCache(String name) {
+    return caches.get(name);
+  }
+
+  private TwoLevelCache createCache(String name) {
+    com.github.benmanes.caffeine.cache.Cache<String, Object> local =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+
+    return new TwoLevelCache(local, remote.getCache(name), publisher);
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.adapters.output.security.RevokedUsers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class UserCacheInvalidator {
+  public static final String USERS = "users";
+  public static final String USER_BY_ID = "userById";
+  public static final String USER_BY_EMAIL = "userByEmail";
+
+  private final CacheManager cacheManager;
+  private final StaleUserCache staleCache;
+  private final UserPageGeneration pageGeneration;
+  private final RevokedUsers revokedUsers;
+
+  public UserCacheInvalidator(
+      CacheManager cacheManager,
+      StaleUserCache staleCache,
+      UserPageGeneration pageGeneration,
+      RevokedUsers revokedUsers) {
+    this.cacheManager = cacheManager;
+    this.staleCache = staleCache;
+    this.pageGeneration = pageGeneration;
+    this.revokedUsers = revokedUsers;
+  }
+
+  public void onSaved(User saved, String previousEmail) {
+    put(USER_BY_ID, saved.getId(), saved);
+    evict(USER_BY_EMAIL, saved.getEmail());
+    staleCache.putById(saved);
+    staleCache.putByEmail(saved);
+    evictPages();
+
+    if (previousEmail != null && !previousEmail.equals(saved.getEmail())) {
+      evict(USER_BY_EMAIL, previousEmail);
+      staleCache.evictByEmail(previousEmail);
+    }
+  }
+
+  public void onInserted() {
+    evictPages();
+  }
+
+  public void onDeleted(Long id, String email) {
+    revokedUsers.revoke(id);
+    evict(USER_BY_ID, id);
+    staleCache.evictById(id);
+
+    if (email != null) {
+      evict(USER_BY_EMAIL, email);
+      staleCache.evictByEmail(email);
+    }
+
+    evictPages();
+  }
+
+  // Ids come from pooled sequence blocks, so an insert on one node can land inside a page that
+  // is already full and cached; every write moves the pages to a new generation. The
+  // last-known-good pages are left alone: they are only served while the database is down.
+  private void evictPages() {
+    log.debug("Advancing cached user page generation");
+    pageGeneration.bump();
+  }
+
+  private void put(String cacheName, Object key, Object value) {
+    Cache cache = cacheManager.getCache(cacheName);
+
+    if (cache != null && key != null) {
+      cache.put(key, value);
+    }
+  }
+
+  private void evict(String cacheName, Object key) {
+    Cache cache = cacheManager.getCache(cacheName);
+
+    if (cache != null && key != null) {
+      cache.evict(key);
+    }
+  }
+}
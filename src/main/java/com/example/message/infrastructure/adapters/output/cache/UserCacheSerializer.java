@@ -0,0 +1,292 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import com.example.message.core.domain.User;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class UserCacheSerializer implements RedisSerializer<Object> {
+  static final byte MAGIC = (byte) 0xC5;
+  static final byte VERSION = 2;
+  static final byte VERSION_WITHOUT_ENTITY_VERSION = 1;
+  static final byte TYPE_USER = 1;
+  static final byte TYPE_USER_LIST = 2;
+  static final byte FLAG_COMPRESSED = 1;
+
+  private static final int HEADER_SIZE = 4;
+
+  private final RedisSerializer<Object> fallback;
+  private final int compressionThreshold;
+
+  public UserCacheSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+    this.fallback = fallback;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  @Override
+  public byte[] serialize(Object value) throws SerializationException {
+    if (value instanceof User user) {
+      return encode(TYPE_USER, writeUser(new Output(64), user));
+    }
+
+    if (value instanceof List<?> list && isUserList(list)) {
+      Output out = new Output(16 + list.size() * 48);
+      out.writeVarInt(list.size());
+
+      for (Object entry : list) {
+        writeUser(out, (User) entry);
+      }
+
+      return encode(TYPE_USER_LIST, out);
+    }
+
+    return fallback.serialize(value);
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+
+    if (bytes[0] != MAGIC) {
+      return fallback.deserialize(bytes);
+    }
+
+    if (bytes.length < HEADER_SIZE || bytes[1] > VERSION) {
+      throw new SerializationException("Unsupported cache entry format version: " + bytes[1]);
+    }
+
+    byte type = bytes[2];
+    boolean versioned = bytes[1] > VERSION_WITHOUT_ENTITY_VERSION;
+    ByteBuffer in = ByteBuffer.wrap(payload(bytes));
+
+    if (type == TYPE_USER) {
+      return readUser(in, versioned);
+    }
+
+    if (type == TYPE_USER_LIST) {
+      int size = readVarInt(in);
+      List<User> users = new ArrayList<>(size);
+
+      for (int i = 0; i < size; i++) {
+        users.add(readUser(in, versioned));
+      }
+
+      return users;
+    }
+
+    throw new SerializationException("Unknown cache entry type: " + type);
+  }
+
+  /**
+   * Reads the entity version from the leading bytes of a cached user without decoding its strings,
+   * so a short GETRANGE is enough. Returns null for anything but an uncompressed, versioned user.
+   */
+  public static Long peekVersion(byte[] prefix) {
+    if (prefix == null
+        || prefix.length < HEADER_SIZE
+        || prefix[0] != MAGIC
+        || prefix[1] <= VERSION_WITHOUT_ENTITY_VERSION
+        || prefix[1] > VERSION
+        || prefix[2] != TYPE_USER
+        || (prefix[3] & FLAG_COMPRESSED) != 0) {
+      return null;
+    }
+
+    try {
+      ByteBuffer in = ByteBuffer.wrap(prefix, HEADER_SIZE, prefix.length - HEADER_SIZE);
+      readNullableLong(in);
+
+      return readNullableLong(in);
+    } catch (BufferUnderflowException e) {
+      return null;
+    }
+  }
+
+  private byte[] encode(byte type, Output out) {
+    byte flags = 0;
+    byte[] body = out.toByteArray();
+
+    if (body.length >= compressionThreshold) {
+      body = deflate(body);
+      flags |= FLAG_COMPRESSED;
+    }
+
+    byte[] bytes = new byte[HEADER_SIZE + body.length];
+    bytes[0] = MAGIC;
+    bytes[1] = VERSION;
+    bytes[2] = type;
+    bytes[3] = flags;
+    System.arraycopy(body, 0, bytes, HEADER_SIZE, body.length);
+
+    return bytes;
+  }
+
+  private static byte[] payload(byte[] bytes) {
+    byte[] body = new byte[bytes.length - HEADER_SIZE];
+    System.arraycopy(bytes, HEADER_SIZE, body, 0, body.length);
+
+    return (bytes[3] & FLAG_COMPRESSED) != 0 ? inflate(body) : body;
+  }
+
+  private static Output writeUser(Output out, User user) {
+    out.writeNullableLong(user.getId());
+    out.writeNullableLong(user.getVersion());
+    out.writeString(user.getName());
+    out.writeString(user.getEmail());
+    out.writeString(user.getPassword());
+
+    return out;
+  }
+
+  private static User readUser(ByteBuffer in, boolean versioned) {
+    return User.builder()
+        .id(readNullableLong(in))
+        .version(versioned ? readNullableLong(in) : null)
+        .name(readString(in))
+        .email(readString(in))
+        .password(readString(in))
+        .build();
+  }
+
+  private static boolean isUserList(List<?> list) {
+    for (Object entry : list) {
+      if (!(entry instanceof User)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static Long readNullableLong(ByteBuffer in) {
+    return in.get() == 0 ? null : readVarLong(in);
+  }
+
+  private static String readString(ByteBuffer in) {
+    int length = readVarInt(in);
+
+    if (length == 0) {
+      return null;
+    }
+
+    String value = new String(in.array(), in.position(), length - 1, StandardCharsets.UTF_8);
+    in.position(in.position() + length - 1);
+
+    return value;
+  }
+
+  private static int readVarInt(ByteBuffer in) {
+    return (int) readVarLong(in);
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+
+    do {
+      b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+
+    return value;
+  }
+
+  private static byte[] deflate(byte[] body) {
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+    try {
+      deflater.setInput(body);
+      deflater.finish();
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+      byte[] buffer = new byte[1024];
+
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] body) {
+    Inflater inflater = new Inflater();
+
+    try {
+      inflater.setInput(body);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 3);
+      byte[] buffer = new byte[1024];
+
+      while (!inflater.finished()) {
+        int read = inflater.inflate(buffer);
+
+        if (read == 0 && inflater.needsInput()) {
+          throw new SerializationException("Truncated compressed cache entry");
+        }
+
+        out.write(buffer, 0, read);
+      }
+
+      return out.toByteArray();
+    } catch (DataFormatException e) {
+      throw new SerializationException("Corrupt compressed cache entry", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static final class Output extends ByteArrayOutputStream {
+    Output(int size) {
+      super(size);
+    }
+
+    void writeNullableLong(Long value) {
+      if (value == null) {
+        write(0);
+        return;
+      }
+
+      write(1);
+      writeVarLong(value);
+    }
+
+    void writeString(String value) {
+      if (value == null) {
+        writeVarInt(0);
+        return;
+      }
+
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length + 1);
+      writeBytes(bytes);
+    }
+
+    void writeVarInt(int value) {
+      writeVarLong(value);
+    }
+
+    void writeVarLong(long value) {
+      while ((value & ~0x7FL) != 0) {
+        write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+
+      write((int) value);
+    }
+  }
+}
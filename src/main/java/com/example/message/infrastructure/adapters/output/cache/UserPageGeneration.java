@@ -0,0 +1,53 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cluster-wide generation of the cached user pages. Page keys carry the generation they were read
+ * under, so a write invalidates every page with a single INCR and the superseded entries simply
+ * expire, instead of scanning the keyspace for them.
+ */
+@Component
+@Slf4j
+public class UserPageGeneration {
+  static final String KEY = "users:gen";
+
+  private final StringRedisTemplate redisTemplate;
+  private final AtomicLong lastSeen = new AtomicLong();
+
+  public UserPageGeneration(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  public long current() {
+    try {
+      String value = redisTemplate.opsForValue().get(KEY);
+      long generation = value != null ? Long.parseLong(value) : 0L;
+
+      lastSeen.accumulateAndGet(generation, Math::max);
+      return generation;
+    } catch (RuntimeException e) {
+      log.warn("Failed to read user page generation: {}", e.getMessage());
+      return lastSeen.get();
+    }
+  }
+
+  public void bump() {
+    try {
+      Long generation = redisTemplate.opsForValue().increment(KEY);
+
+      if (generation != null) {
+        lastSeen.accumulateAndGet(generation, Math::max);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to advance user page generation: {}", e.getMessage());
+    }
+  }
+
+  public String key(Long afterId, int limit) {
+    return current() + ":" + afterId + ":" + limit;
+  }
+}
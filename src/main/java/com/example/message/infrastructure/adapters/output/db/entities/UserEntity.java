@@ -14,13 +14,16 @@ import java.time.Instant;
 @Setter
 public class UserEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+  @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
   private Long id;
 
   private String name;
   private String email;
   private String password;
 
+  @Version private Long version;
+
   @CreationTimestamp
   @Column(name = "created_at", updatable = false)
   private Instant createdAt;
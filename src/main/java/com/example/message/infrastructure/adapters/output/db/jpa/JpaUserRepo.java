@@ -1,11 +1,90 @@
 package com.example.message.infrastructure.adapters.output.db.jpa;
 
 import com.example.message.infrastructure.adapters.output.db.entities.UserEntity;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface JpaUserRepo extends JpaRepository<UserEntity, Long> {
   Optional<UserEntity> findByEmail(String email);
+
+  List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  @Query(value = "SELECT * FROM users WHERE id = ANY(:ids)", nativeQuery = true)
+  List<UserEntity> findAllByIdArray(@Param("ids") Long[] ids);
+
+  @Query(value = "SELECT * FROM users WHERE email = ANY(:emails)", nativeQuery = true)
+  List<UserEntity> findAllByEmailArray(@Param("emails") String[] emails);
+
+  @Query(
+      "select u.id as id, u.email as email from UserEntity u"
+          + " where u.id > :afterId order by u.id")
+  List<UserEmailRow> findEmailsAfter(@Param("afterId") Long afterId, Limit limit);
+
+  @Query(
+      "select u.id as id, u.email as email, u.updatedAt as updatedAt from UserEntity u"
+          + " where u.updatedAt > :since or (u.updatedAt = :since and u.id > :afterId)"
+          + " order by u.updatedAt, u.id")
+  List<UserEmailChange> findEmailsUpdatedSince(
+      @Param("since") Instant since, @Param("afterId") Long afterId, Limit limit);
+
+  @Query("select u.id from UserEntity u order by u.updatedAt desc")
+  List<Long> findRecentlyUpdatedIds(Limit limit);
+
+  @Query("select u.email from UserEntity u where u.email in :emails")
+  List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+  @Query(
+      value =
+          """
+          UPDATE users u
+          SET name = COALESCE(CAST(:name AS VARCHAR), u.name),
+              email = COALESCE(CAST(:email AS VARCHAR), u.email),
+              password = COALESCE(CAST(:password AS VARCHAR), u.password),
+              version = u.version + 1,
+              updated_at = now()
+          FROM users old
+          WHERE u.id = :id AND old.id = u.id
+            AND (CAST(:version AS BIGINT) IS NULL OR u.version = :version)
+          RETURNING u.id AS "id", u.name AS "name", u.email AS "email",
+                    u.version AS "version", old.email AS "previousEmail"
+          """,
+      nativeQuery = true)
+  Optional<UpdatedUserRow> updatePartial(
+      @Param("id") Long id,
+      @Param("name") String name,
+      @Param("email") String email,
+      @Param("password") String password,
+      @Param("version") Long version);
+
+  @Query(
+      value =
+          """
+          DELETE FROM users
+          WHERE id = :id AND (CAST(:version AS BIGINT) IS NULL OR version = :version)
+          RETURNING email
+          """,
+      nativeQuery = true)
+  Optional<String> deleteReturningEmail(@Param("id") Long id, @Param("version") Long version);
+
+  @Query("select u.version from UserEntity u where u.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @QueryHints({
+    @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select u from UserEntity u where u.id > :afterId order by u.id")
+  Stream<UserEntity> streamByIdGreaterThan(@Param("afterId") Long afterId);
 }
@@ -0,0 +1,13 @@
+package com.example.message.infrastructure.adapters.output.db.jpa;
+
+public interface UpdatedUserRow {
+  Long getId();
+
+  String getName();
+
+  String getEmail();
+
+  Long getVersion();
+
+  String getPreviousEmail();
+}
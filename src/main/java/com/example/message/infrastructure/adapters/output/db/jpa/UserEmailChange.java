@@ -0,0 +1,11 @@
+package com.example.message.infrastructure.adapters.output.db.jpa;
+
+import java.time.Instant;
+
+public interface UserEmailChange {
+  Long getId();
+
+  String getEmail();
+
+  Instant getUpdatedAt();
+}
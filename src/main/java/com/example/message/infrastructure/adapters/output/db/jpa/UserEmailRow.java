@@ -0,0 +1,7 @@
+package com.example.message.infrastructure.adapters.output.db.jpa;
+
+public interface UserEmailRow {
+  Long getId();
+
+  String getEmail();
+}
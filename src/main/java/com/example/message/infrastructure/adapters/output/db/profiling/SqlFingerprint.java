@@ -0,0 +1,33 @@
+package com.example.message.infrastructure.adapters.output.db.profiling;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a statement to its shape so executions that differ only in literals, comments, spacing
+ * or the length of an IN list are aggregated together.
+ */
+public final class SqlFingerprint {
+  private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL =
+      Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private SqlFingerprint() {}
+
+  public static String of(String sql) {
+    if (sql == null) {
+      return "";
+    }
+
+    String normalized = COMMENT.matcher(sql).replaceAll(" ");
+    normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+    normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+    normalized = VALUE_LIST.matcher(normalized).replaceAll("(?...)");
+    normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+
+    return normalized.trim().toLowerCase(Locale.ROOT);
+  }
+}
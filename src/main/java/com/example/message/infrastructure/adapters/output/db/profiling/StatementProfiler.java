@@ -0,0 +1,219 @@
+package com.example.message.infrastructure.adapters.output.db.profiling;
+
+import com.example.message.infrastructure.tracing.Span;
+import com.example.message.infrastructure.tracing.Tracing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wraps connections handed out by a pool so every statement they create is timed. Statements over
+ * the threshold are logged to the slow-query log with the types of their bind parameters, never
+ * the values.
+ */
+public class StatementProfiler implements MethodInterceptor {
+  public static final String SLOW_QUERY_LOGGER = "slow-query";
+
+  private static final Logger slowQueryLog = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+
+  private final StatementStats stats;
+  private final long thresholdNanos;
+  private final Supplier<MeterRegistry> meterRegistry;
+  private volatile Counter slowStatements;
+
+  public StatementProfiler(
+      StatementStats stats, Duration threshold, Supplier<MeterRegistry> meterRegistry) {
+    this.stats = stats;
+    this.thresholdNanos = threshold.toNanos();
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Object result = invocation.proceed();
+
+    return result instanceof Connection connection ? wrap(connection) : result;
+  }
+
+  public Connection wrap(Connection connection) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new ConnectionHandler(connection));
+  }
+
+  private String record(
+      String sql, String[] parameters, int batchSize, long nanos, boolean failed) {
+    String fingerprint = stats.fingerprint(sql);
+    stats.record(fingerprint, nanos, failed);
+
+    if (nanos < thresholdNanos) {
+      return fingerprint;
+    }
+
+    slowStatements().increment();
+    slowQueryLog.warn(
+        "Slow statement took {} ms{} params={}{}: {}",
+        nanos / 1_000_000,
+        failed ? " and failed" : "",
+        Arrays.toString(parameters),
+        batchSize > 0 ? " batch=" + batchSize : "",
+        fingerprint);
+
+    return fingerprint;
+  }
+
+  private Counter slowStatements() {
+    Counter counter = slowStatements;
+
+    if (counter == null) {
+      counter =
+          Counter.builder("db.statements.slow")
+              .description("Statements that ran longer than the slow-query threshold")
+              .register(meterRegistry.get());
+      slowStatements = counter;
+    }
+
+    return counter;
+  }
+
+  private static Object invokeTarget(Object target, Method method, Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private final class ConnectionHandler implements InvocationHandler {
+    private final Connection target;
+
+    ConnectionHandler(Connection target) {
+      this.target = target;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (method.getName().equals("equals")) {
+        return proxy == args[0];
+      }
+
+      if (method.getName().equals("hashCode")) {
+        return System.identityHashCode(proxy);
+      }
+
+      Object result = invokeTarget(target, method, args);
+
+      if (result instanceof CallableStatement statement) {
+        return statementProxy(statement, CallableStatement.class, (String) args[0]);
+      }
+
+      if (result instanceof PreparedStatement statement) {
+        return statementProxy(statement, PreparedStatement.class, (String) args[0]);
+      }
+
+      if (result instanceof Statement statement) {
+        return statementProxy(statement, Statement.class, null);
+      }
+
+      return result;
+    }
+
+    private Object statementProxy(Statement statement, Class<?> type, String sql) {
+      return Proxy.newProxyInstance(
+          type.getClassLoader(), new Class<?>[] {type}, new StatementHandler(statement, sql));
+    }
+  }
+
+  private final class StatementHandler implements InvocationHandler {
+    private final Statement target;
+    private String sql;
+    private String[] parameters = new String[0];
+    private int batchSize;
+
+    StatementHandler(Statement target, String sql) {
+      this.target = target;
+      this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+
+      if (name.startsWith("execute")) {
+        return execute(method, args);
+      }
+
+      if (name.startsWith("set") && args != null && args.length >= 2
+          && args[0] instanceof Integer index) {
+        bind(index, name.substring(3));
+      } else if (name.equals("clearParameters")) {
+        parameters = new String[0];
+      } else if (name.equals("addBatch")) {
+        batchSize++;
+
+        if (args != null && args.length == 1) {
+          sql = (String) args[0];
+        }
+      } else if (name.equals("clearBatch")) {
+        batchSize = 0;
+      } else if (name.equals("equals")) {
+        return proxy == args[0];
+      } else if (name.equals("hashCode")) {
+        return System.identityHashCode(proxy);
+      }
+
+      return invokeTarget(target, method, args);
+    }
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+      String executed = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+      boolean batch = method.getName().endsWith("Batch");
+      Span span = Tracing.start("db", "statement");
+      long start = System.nanoTime();
+      boolean failed = true;
+
+      try {
+        Object result = invokeTarget(target, method, args);
+        failed = false;
+        return result;
+      } finally {
+        String fingerprint =
+            record(executed, parameters, batch ? batchSize : 0, System.nanoTime() - start, failed);
+
+        if (span != null) {
+          span.setDetail(fingerprint);
+          Tracing.end(span, failed);
+        }
+
+        if (batch) {
+          batchSize = 0;
+        }
+      }
+    }
+
+    private void bind(int index, String type) {
+      if (index > parameters.length) {
+        parameters = Arrays.copyOf(parameters, index);
+      }
+
+      parameters[index - 1] = type;
+    }
+  }
+}
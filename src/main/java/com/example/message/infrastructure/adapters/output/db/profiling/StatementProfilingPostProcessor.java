@@ -0,0 +1,24 @@
+package com.example.message.infrastructure.adapters.output.db.profiling;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.aop.support.RootClassFilter;
+
+/**
+ * Profiles connections at the pool rather than at the routing data source, so each physical
+ * statement is timed exactly once whichever primary or replica pool served it. The proxy
+ * subclasses the pool, so beans injected by their Hikari type keep working.
+ */
+public class StatementProfilingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  public StatementProfilingPostProcessor(StatementProfiler profiler) {
+    NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+    pointcut.setMappedName("getConnection");
+    pointcut.setClassFilter(new RootClassFilter(HikariDataSource.class));
+
+    this.advisor = new DefaultPointcutAdvisor(pointcut, profiler);
+    setProxyTargetClass(true);
+  }
+}
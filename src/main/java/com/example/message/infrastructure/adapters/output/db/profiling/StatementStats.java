@@ -0,0 +1,176 @@
+package com.example.message.infrastructure.adapters.output.db.profiling;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.MDC;
+
+/**
+ * Per-fingerprint execution counts and latency histograms. Latencies go into power-of-two
+ * microsecond buckets, so percentiles are upper bounds accurate to a factor of two. The most
+ * executions of one fingerprint within a single trace is kept as well, which is what gives an
+ * N+1 pattern away.
+ */
+public class StatementStats {
+  static final String OTHER = "(other)";
+
+  private static final String TRACE_ID = "traceId";
+  private static final int BUCKETS = 28;
+
+  private final int maxFingerprints;
+  private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final ThreadLocal<TraceCounts> traceCounts = ThreadLocal.withInitial(TraceCounts::new);
+
+  public StatementStats(int maxFingerprints) {
+    this.maxFingerprints = maxFingerprints;
+  }
+
+  public record Snapshot(
+      String fingerprint,
+      long count,
+      long errors,
+      double totalMillis,
+      double meanMillis,
+      double p50Millis,
+      double p95Millis,
+      double p99Millis,
+      double maxMillis,
+      long maxPerTrace) {}
+
+  // Hibernate prepares the same handful of strings over and over, so the regex work is cached
+  // by SQL text up to the same bound as the fingerprints themselves.
+  public String fingerprint(String sql) {
+    String fingerprint = fingerprints.get(sql);
+
+    if (fingerprint != null) {
+      return fingerprint;
+    }
+
+    fingerprint = SqlFingerprint.of(sql);
+
+    if (fingerprints.size() < maxFingerprints * 4) {
+      fingerprints.put(sql, fingerprint);
+    }
+
+    return fingerprint;
+  }
+
+  public void record(String fingerprint, long nanos, boolean failed) {
+    Entry entry = entries.get(fingerprint);
+
+    if (entry == null) {
+      String key = entries.size() < maxFingerprints ? fingerprint : OTHER;
+      entry = entries.computeIfAbsent(key, k -> new Entry());
+    }
+
+    entry.record(nanos, failed, traceCounts.get().increment(fingerprint));
+  }
+
+  public List<Snapshot> snapshot() {
+    return entries.entrySet().stream()
+        .map(e -> e.getValue().snapshot(e.getKey()))
+        .sorted(Comparator.comparingDouble(Snapshot::totalMillis).reversed())
+        .toList();
+  }
+
+  public void reset() {
+    entries.clear();
+  }
+
+  private static final class Entry {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxPerTrace = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    void record(long nanos, boolean failed, long perTrace) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      maxPerTrace.accumulate(perTrace);
+      buckets.incrementAndGet(bucket(nanos));
+
+      if (failed) {
+        errors.increment();
+      }
+    }
+
+    Snapshot snapshot(String fingerprint) {
+      long total = count.sum();
+      double totalMillis = millis(totalNanos.sum());
+
+      return new Snapshot(
+          fingerprint,
+          total,
+          errors.sum(),
+          totalMillis,
+          total == 0 ? 0 : totalMillis / total,
+          percentile(0.50),
+          percentile(0.95),
+          percentile(0.99),
+          millis(maxNanos.get()),
+          maxPerTrace.get());
+    }
+
+    private double percentile(double quantile) {
+      long total = 0;
+
+      for (int i = 0; i < BUCKETS; i++) {
+        total += buckets.get(i);
+      }
+
+      long rank = (long) Math.ceil(quantile * total);
+      long seen = 0;
+
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += buckets.get(i);
+
+        if (seen >= rank && seen > 0) {
+          return Math.min((1L << i) / 1000.0, millis(maxNanos.get()));
+        }
+      }
+
+      return 0;
+    }
+
+    private static int bucket(long nanos) {
+      long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos));
+
+      return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    private static double millis(long nanos) {
+      return nanos / 1_000_000.0;
+    }
+  }
+
+  private static final class TraceCounts {
+    private String traceId;
+    private final Map<String, long[]> counts = new HashMap<>();
+
+    long increment(String fingerprint) {
+      String current = MDC.get(TRACE_ID);
+
+      if (current == null) {
+        return 0;
+      }
+
+      if (!Objects.equals(current, traceId)) {
+        traceId = current;
+        counts.clear();
+      }
+
+      return ++counts.computeIfAbsent(fingerprint, k -> new long[1])[0];
+    }
+  }
+}
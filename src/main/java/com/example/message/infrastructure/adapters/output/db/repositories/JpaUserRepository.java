@@ -1,58 +1,108 @@
 package com.example.message.infrastructure.adapters.output.db.repositories;
 
 import com.example.message.core.domain.User;
+import com.example.message.core.exceptions.business.ConflictException;
+import com.example.message.core.exceptions.business.PreconditionFailedException;
 import com.example.message.core.exceptions.infrastructure.DatabaseUnavailableException;
 import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.adapters.output.cache.StaleUserCache;
+import com.example.message.infrastructure.adapters.output.cache.UserCacheInvalidator;
+import com.example.message.infrastructure.adapters.output.cache.UserPageGeneration;
 import com.example.message.infrastructure.adapters.output.db.entities.UserEntity;
 import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import com.example.message.infrastructure.resilience.Fallbacks;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @Slf4j
 public class JpaUserRepository implements UserRepositoryPort {
+  private static final int EMAIL_LOOKUP_CHUNK = 1000;
+
   private final JpaUserRepo repository;
   private final CacheManager cacheManager;
+  private final UserCacheInvalidator cacheInvalidator;
+  private final StaleUserCache staleCache;
+  private final UserPageGeneration pageGeneration;
 
-  public JpaUserRepository(JpaUserRepo repository, CacheManager cacheManager) {
+  public JpaUserRepository(
+      JpaUserRepo repository,
+      CacheManager cacheManager,
+      UserCacheInvalidator cacheInvalidator,
+      StaleUserCache staleCache,
+      UserPageGeneration pageGeneration) {
     this.repository = repository;
     this.cacheManager = cacheManager;
+    this.cacheInvalidator = cacheInvalidator;
+    this.staleCache = staleCache;
+    this.pageGeneration = pageGeneration;
   }
 
   @Override
   @CircuitBreaker(name = "userRepository")
   @Retryable(
       retryFor = {DataAccessException.class},
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
-  @CachePut(value = "userById", key = "#result.id", condition = "#result != null")
-  @CacheEvict(
-      value = {"users", "userByEmail"},
-      allEntries = true)
+      noRetryFor = {DataIntegrityViolationException.class},
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      recover = "recoverSave",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
   public User save(User user) {
-    UserEntity entity = new UserEntity();
+    UserEntity entity =
+        user.getId() != null
+            ? repository.findById(user.getId()).orElseGet(UserEntity::new)
+            : new UserEntity();
+
+    String previousEmail = entity.getEmail();
 
     entity.setId(user.getId());
     entity.setName(user.getName());
     entity.setEmail(user.getEmail());
     entity.setPassword(user.getPassword());
 
-    UserEntity saved = repository.save(entity);
+    // Pooled sequence ids defer the INSERT to commit; flushing here keeps it inside the retry and
+    // breaker, surfaces a duplicate email as a conflict, and only touches the caches once it landed.
+    UserEntity saved;
+
+    try {
+      saved = repository.saveAndFlush(entity);
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Save of user with email {} rejected: {}", user.getEmail(), e.getMessage());
+      throw new ConflictException("User with email " + user.getEmail() + " already exists");
+    }
+
+    User result = toUser(saved);
+
+    cacheInvalidator.onSaved(result, previousEmail);
 
-    return User.builder().id(saved.getId()).name(saved.getName()).email(saved.getEmail()).build();
+    return result;
   }
 
   @Recover
@@ -67,102 +117,396 @@ public class JpaUserRepository implements UserRepositoryPort {
   @CircuitBreaker(name = "userRepository")
   @Retryable(
       retryFor = {DataAccessException.class},
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
-  @Cacheable(value = "users")
-  public List<User> findAll() {
-    return repository.findAll().stream()
-        .map(e -> User.builder().id(e.getId()).name(e.getName()).email(e.getEmail()).build())
-        .collect(Collectors.toList());
+      noRetryFor = {DataIntegrityViolationException.class},
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      recover = "recoverUpdate",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
+  @Transactional
+  public User update(User user) {
+    try {
+      return repository
+          .updatePartial(
+              user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getVersion())
+          .map(
+              row -> {
+                User updated =
+                    User.builder()
+                        .id(row.getId())
+                        .name(row.getName())
+                        .email(row.getEmail())
+                        .version(row.getVersion())
+                        .build();
+
+                cacheInvalidator.onSaved(updated, row.getPreviousEmail());
+
+                return updated;
+              })
+          .orElseGet(() -> rejectStaleVersion(user.getId(), user.getVersion()));
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Update of user {} rejected: {}", user.getId(), e.getMessage());
+      throw new ConflictException("User with email " + user.getEmail() + " already exists");
+    }
   }
 
   @Recover
-  public List<User> recoverFindAll(DataAccessException e) {
-    log.error("Database failed, checking cache. Error: {}", e.getMessage());
+  public User recoverUpdate(DataAccessException e, User user) {
+    log.error("Failed to update user {} after retries: {}", user.getId(), e.getMessage());
+    throw new DatabaseUnavailableException(
+        "Unable to update user. Database is temporarily unavailable.");
+  }
+
+  @Override
+  @CircuitBreaker(name = "userRepository")
+  @Transactional
+  public List<User> saveAll(List<User> users) {
+    List<UserEntity> entities = new ArrayList<>(users.size());
 
-    Cache cache = cacheManager.getCache("users");
+    for (User user : users) {
+      UserEntity entity = new UserEntity();
 
-    if (cache == null) {
-      log.warn("No cache found for users, returning empty list");
-      return Collections.emptyList();
+      entity.setName(user.getName());
+      entity.setEmail(user.getEmail());
+      entity.setPassword(user.getPassword());
+      entities.add(entity);
     }
 
-    Object cachedValue = cache.get("users", Object.class);
+    try {
+      List<UserEntity> saved = repository.saveAll(entities);
+      repository.flush();
+      cacheInvalidator.onInserted();
 
-    if (cachedValue instanceof List<?> rawList) {
-      return rawList.stream().filter(User.class::isInstance).map(User.class::cast).toList();
+      return saved.stream()
+          .map(JpaUserRepository::toUser)
+          .toList();
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Batch insert of {} users rejected: {}", users.size(), e.getMessage());
+      throw new ConflictException("One or more users already exist");
     }
+  }
 
-    return Collections.emptyList();
+  @Override
+  @CircuitBreaker(name = "userRepository")
+  @Transactional(readOnly = true)
+  public Set<String> findExistingEmails(Collection<String> emails) {
+    List<String> distinct = emails.stream().distinct().toList();
+    Set<String> existing = new HashSet<>();
+
+    for (int from = 0; from < distinct.size(); from += EMAIL_LOOKUP_CHUNK) {
+      List<String> chunk =
+          distinct.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK, distinct.size()));
+      existing.addAll(repository.findEmailsIn(chunk));
+    }
+
+    return existing;
+  }
+
+  @Override
+  @CircuitBreaker(name = "userRepository", fallbackMethod = "staleFindPage")
+  @Retryable(
+      retryFor = {DataAccessException.class},
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
+  @Cacheable(
+      value = "users",
+      key = "@userPageGeneration.key(#afterId, #limit)",
+      unless = "#result.size() < #limit")
+  public List<User> findPage(Long afterId, int limit) {
+    List<User> users =
+        repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+            .map(JpaUserRepository::toUser)
+            .collect(Collectors.toList());
+
+    staleCache.putPage(pageKey(afterId, limit), users);
+
+    return users;
+  }
+
+  public List<User> staleFindPage(Long afterId, int limit, CallNotPermittedException e) {
+    log.debug("Circuit open, serving page after {} from cache", afterId);
+    return cachedPage(afterId, limit);
+  }
+
+  @Recover
+  public List<User> recoverFindPage(DataAccessException e, Long afterId, int limit) {
+    log.error(
+        "Database failed, checking cache for page after {}. Error: {}", afterId, e.getMessage());
+
+    return cachedPage(afterId, limit);
+  }
+
+  @Override
+  @CircuitBreaker(name = "userRepository")
+  @Transactional(readOnly = true)
+  public Long findVersion(Long id) {
+    return repository.findVersionById(id).orElse(null);
   }
 
   @Override
   @CircuitBreaker(name = "userRepository")
+  @Transactional(readOnly = true)
+  public List<User> findExportBatch(Long afterId, int limit) {
+    try (Stream<UserEntity> rows = repository.streamByIdGreaterThan(afterId)) {
+      return rows.limit(limit)
+          .map(JpaUserRepository::toUser)
+          .collect(Collectors.toCollection(() -> new ArrayList<>(limit)));
+    }
+  }
+
+  @Override
+  @CircuitBreaker(name = "userRepository", fallbackMethod = "staleFind")
   @Retryable(
       retryFor = {DataAccessException.class},
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
-  @Cacheable(value = "userById", key = "#id")
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
+  @Cacheable(value = "userById", key = "#id", unless = "#result == null")
   public User find(Long id) {
-    return repository
-        .findById(id)
-        .map(e -> User.builder().id(e.getId()).name(e.getName()).email(e.getEmail()).build())
-        .orElse(null);
+    return loadById(id);
   }
 
   @Recover
   public User recoverFind(DataAccessException e, Long id) {
     log.warn("DB Failure. Falling back to cache for ID: {}", id);
-    return getFromCache("userById", id, User.class);
+    return cachedById(id);
+  }
+
+  public User staleFind(Long id, CallNotPermittedException e) {
+    return cachedById(id);
   }
 
   @Override
-  @CircuitBreaker(name = "userRepository")
+  @CircuitBreaker(name = "userRepository", fallbackMethod = "staleFindByEmail")
   @Retryable(
       retryFor = {DataAccessException.class},
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
   @Cacheable(value = "userByEmail", key = "#email", unless = "#result == null")
   public User findByEmail(String email) {
-    return repository
-        .findByEmail(email)
-        .map(
-            e ->
-                User.builder()
-                    .id(e.getId())
-                    .name(e.getName())
-                    .email(e.getEmail())
-                    .password(e.getPassword())
-                    .build())
-        .orElse(null);
+    return loadByEmail(email);
   }
 
   @Recover
   public User recoverFindByEmail(DataAccessException e, String email) {
     log.warn("DB Failure. Falling back to cache for Email: {}", email);
-    return getFromCache("userByEmail", email, User.class);
+    return cachedByEmail(email);
+  }
+
+  public User staleFindByEmail(String email, CallNotPermittedException e) {
+    return cachedByEmail(email);
   }
 
   @Override
   @CircuitBreaker(name = "userRepository")
   @Retryable(
       retryFor = {DataAccessException.class},
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000))
-  @CacheEvict(
-      value = {"users", "userById", "userByEmail"},
-      allEntries = true)
-  public void delete(Long id) {
-    repository.deleteById(id);
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      recover = "recoverFindAllByIds",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
+  @Transactional(readOnly = true)
+  public List<User> findAllByIds(Collection<Long> ids) {
+    Map<Long, User> found =
+        repository.findAllByIdArray(ids.toArray(Long[]::new)).stream()
+            .collect(Collectors.toMap(UserEntity::getId, JpaUserRepository::toUser));
+
+    return ids.stream().map(found::get).filter(Objects::nonNull).toList();
   }
 
   @Recover
-  public void recoverDelete(DataAccessException e, Long id) {
+  public List<User> recoverFindAllByIds(DataAccessException e, Collection<Long> ids) {
+    log.error("Failed to look up {} users by id after retries: {}", ids.size(), e.getMessage());
+    throw new DatabaseUnavailableException(
+        "Unable to look up users. Database is temporarily unavailable.");
+  }
+
+  @Override
+  @CircuitBreaker(name = "userRepository")
+  @Retryable(
+      retryFor = {DataAccessException.class},
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      recover = "recoverFindAllByEmails",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
+  @Transactional(readOnly = true)
+  public List<User> findAllByEmails(Collection<String> emails) {
+    Map<String, User> found =
+        repository.findAllByEmailArray(emails.toArray(String[]::new)).stream()
+            .collect(Collectors.toMap(UserEntity::getEmail, JpaUserRepository::toUser));
+
+    return emails.stream().map(found::get).filter(Objects::nonNull).toList();
+  }
+
+  @Recover
+  public List<User> recoverFindAllByEmails(DataAccessException e, Collection<String> emails) {
+    log.error(
+        "Failed to look up {} users by email after retries: {}", emails.size(), e.getMessage());
+    throw new DatabaseUnavailableException(
+        "Unable to look up users. Database is temporarily unavailable.");
+  }
+
+  @CircuitBreaker(name = "userRepository")
+  @CachePut(value = "userById", key = "#id", unless = "#result == null")
+  public User reloadById(Long id) {
+    return loadById(id);
+  }
+
+  @CircuitBreaker(name = "userRepository")
+  @CachePut(value = "userByEmail", key = "#email", unless = "#result == null")
+  public User reloadByEmail(String email) {
+    return loadByEmail(email);
+  }
+
+  @Override
+  @CircuitBreaker(name = "userRepository")
+  @Retryable(
+      retryFor = {DataAccessException.class},
+      maxAttemptsExpression = "${app.retry.max-attempts:3}",
+      listeners = "repositoryRetryListener",
+      backoff =
+          @Backoff(
+              delayExpression = "${app.retry.initial-interval:100}",
+              multiplierExpression = "${app.retry.multiplier:2}",
+              maxDelayExpression = "${app.retry.max-interval:1000}"))
+  @Transactional
+  public void delete(Long id, Long expectedVersion) {
+    repository
+        .deleteReturningEmail(id, expectedVersion)
+        .ifPresentOrElse(
+            email -> cacheInvalidator.onDeleted(id, email),
+            () -> rejectStaleVersion(id, expectedVersion));
+  }
+
+  @Recover
+  public void recoverDelete(DataAccessException e, Long id, Long expectedVersion) {
     log.error("Failed to delete user {} after retries: {}", id, e.getMessage());
     throw new DatabaseUnavailableException(
         "Unable to delete user. Database is temporarily unavailable.");
   }
 
+  private User loadById(Long id) {
+    User user =
+        repository
+            .findById(id)
+            .map(JpaUserRepository::toUser)
+            .orElse(null);
+
+    if (user != null) {
+      staleCache.putById(user);
+    } else {
+      staleCache.evictById(id);
+    }
+
+    return user;
+  }
+
+  private User loadByEmail(String email) {
+    User user =
+        repository
+            .findByEmail(email)
+            .map(JpaUserRepository::toUserWithPassword)
+            .orElse(null);
+
+    if (user != null) {
+      staleCache.putByEmail(user);
+    } else {
+      staleCache.evictByEmail(email);
+    }
+
+    return user;
+  }
+
+  private User cachedById(Long id) {
+    Fallbacks.record();
+
+    User user = getFromCache("userById", id, User.class);
+
+    return user != null ? user : staleCache.serveById(id);
+  }
+
+  private User cachedByEmail(String email) {
+    Fallbacks.record();
+
+    User user = getFromCache("userByEmail", email, User.class);
+
+    return user != null ? user : staleCache.serveByEmail(email);
+  }
+
+  private List<User> cachedPage(Long afterId, int limit) {
+    Fallbacks.record();
+
+    Object cachedValue =
+        getFromCache("users", pageGeneration.key(afterId, limit), Object.class);
+
+    if (cachedValue instanceof List<?> rawList) {
+      return rawList.stream().filter(User.class::isInstance).map(User.class::cast).toList();
+    }
+
+    List<User> stale = staleCache.servePage(pageKey(afterId, limit));
+
+    if (stale != null) {
+      return stale;
+    }
+
+    log.warn("No cached page after {}, returning empty list", afterId);
+    return Collections.emptyList();
+  }
+
+  private User rejectStaleVersion(Long id, Long expectedVersion) {
+    if (expectedVersion != null && repository.existsById(id)) {
+      throw new PreconditionFailedException(
+          "User " + id + " has changed since version " + expectedVersion);
+    }
+
+    return null;
+  }
+
+  private static User toUser(UserEntity e) {
+    return User.builder()
+        .id(e.getId())
+        .name(e.getName())
+        .email(e.getEmail())
+        .version(e.getVersion())
+        .build();
+  }
+
+  private static User toUserWithPassword(UserEntity e) {
+    User user = toUser(e);
+    user.setPassword(e.getPassword());
+
+    return user;
+  }
+
+  private static String pageKey(Long afterId, int limit) {
+    return afterId + ":" + limit;
+  }
+
   private <T> T getFromCache(String cacheName, Object key, Class<T> type) {
     Cache cache = cacheManager.getCache(cacheName);
 
@@ -171,6 +515,11 @@ public class JpaUserRepository implements UserRepositoryPort {
       return null;
     }
 
-    return cache.get(key, type);
+    try {
+      return cache.get(key, type);
+    } catch (RuntimeException e) {
+      log.warn("Cache lookup in {} failed: {}", cacheName, e.getMessage());
+      return null;
+    }
   }
 }
@@ -2,44 +2,152 @@ package com.example.message.infrastructure.adapters.output.db.repositories;
 
 import com.example.message.core.domain.User;
 import com.example.message.core.ports.output.TokenRepositoryPort;
+import com.example.message.infrastructure.adapters.output.security.RevokedUsers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Issues and verifies the JWT cookie. The principal is built from the token's claims, so a request
+ * needs no user lookup; only deletions are checked, against {@link RevokedUsers}. Name and email in
+ * the principal are as of login and are not refreshed by later profile changes.
+ */
 @Component
+@Slf4j
 public class TokenRepository implements TokenRepositoryPort {
+  private static final String USER_ID_CLAIM = "uid";
+  private static final String NAME_CLAIM = "name";
+
   private final Key key;
+  private final JwtParser parser;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+  private final RevokedUsers revokedUsers;
+  private final long expirationMillis;
 
-  public TokenRepository(@Value("${app.jwt.secret}") String secret) {
+  public TokenRepository(
+      @Value("${app.jwt.secret}") String secret,
+      @Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+      @Value("${app.jwt.expiration:86400000}") long expirationMillis,
+      RevokedUsers revokedUsers) {
+    this.revokedUsers = revokedUsers;
+    this.expirationMillis = expirationMillis;
     this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(new UntilTokenExpiry())
+            .build();
   }
 
   @Override
   public String generateToken(User user) {
     return Jwts.builder()
         .setSubject(user.getEmail())
+        .claim(USER_ID_CLAIM, user.getId())
+        .claim(NAME_CLAIM, user.getName())
         .setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + 86400000))
+        .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
         .signWith(key, SignatureAlgorithm.HS256)
         .compact();
   }
 
   @Override
-  public String validateToken(String token) {
+  public User validateToken(String token) {
+    String digest = digest(token);
+    VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+
+    if (cached != null) {
+      return admit(cached);
+    }
+
     try {
-      return Jwts.parserBuilder()
-          .setSigningKey(key)
-          .build()
-          .parseClaimsJws(token)
-          .getBody()
-          .getSubject();
-    } catch (Exception e) {
+      Claims claims = parser.parseClaimsJws(token).getBody();
+      Number id = claims.get(USER_ID_CLAIM, Number.class);
+
+      if (id == null) {
+        log.debug("Rejecting token without a user id claim");
+        return null;
+      }
+
+      User principal =
+          User.builder()
+              .id(id.longValue())
+              .name(claims.get(NAME_CLAIM, String.class))
+              .email(claims.getSubject())
+              .build();
+
+      Date issuedAt = claims.getIssuedAt();
+      VerifiedToken verified =
+          new VerifiedToken(
+              principal,
+              issuedAt != null ? issuedAt.getTime() : 0L,
+              claims.getExpiration().getTime());
+
+      verifiedTokens.put(digest, verified);
+
+      return admit(verified);
+    } catch (JwtException | IllegalArgumentException e) {
       return null;
     }
   }
+
+  private User admit(VerifiedToken token) {
+    if (revokedUsers.isRevoked(token.principal().getId(), token.issuedAt())) {
+      log.debug("Rejecting token of deleted user {}", token.principal().getId());
+      return null;
+    }
+
+    return token.principal();
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private record VerifiedToken(User principal, long issuedAt, long expiresAt) {}
+
+  private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long remaining = value.expiresAt() - System.currentTimeMillis();
+
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
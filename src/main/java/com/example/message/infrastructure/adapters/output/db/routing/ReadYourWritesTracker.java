@@ -0,0 +1,41 @@
+package com.example.message.infrastructure.adapters.output.db.routing;
+
+import com.example.message.core.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class ReadYourWritesTracker {
+  private final Cache<Long, Boolean> recentWriters;
+
+  public ReadYourWritesTracker(Duration window, long maximumSize) {
+    this.recentWriters =
+        Caffeine.newBuilder().expireAfterWrite(window).maximumSize(maximumSize).build();
+  }
+
+  public void recordWrite() {
+    Long userId = currentUserId();
+
+    if (userId != null) {
+      recentWriters.put(userId, Boolean.TRUE);
+    }
+  }
+
+  public boolean isSticky() {
+    Long userId = currentUserId();
+
+    return userId != null && recentWriters.getIfPresent(userId) != null;
+  }
+
+  private static Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    if (authentication != null && authentication.getPrincipal() instanceof User user) {
+      return user.getId();
+    }
+
+    return null;
+  }
+}
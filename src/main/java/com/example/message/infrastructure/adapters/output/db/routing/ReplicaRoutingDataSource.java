@@ -0,0 +1,115 @@
+package com.example.message.infrastructure.adapters.output.db.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+  static final String PRIMARY = "primary";
+
+  private static final String LAG_QUERY =
+      "SELECT CASE WHEN NOT pg_is_in_recovery()"
+          + " OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+          + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+  private final Map<String, DataSource> replicas;
+  private final ReadYourWritesTracker tracker;
+  private final Duration maxLag;
+  private final AtomicInteger next = new AtomicInteger();
+  private volatile List<String> healthyReplicas = List.of();
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      Map<String, DataSource> replicas,
+      ReadYourWritesTracker tracker,
+      Duration maxLag) {
+    this.replicas = replicas;
+    this.tracker = tracker;
+    this.maxLag = maxLag;
+
+    Map<Object, Object> targets = new HashMap<>(replicas);
+    targets.put(PRIMARY, primary);
+
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (tracker.isSticky()) {
+      return PRIMARY;
+    }
+
+    List<String> healthy = healthyReplicas;
+
+    if (healthy.isEmpty()) {
+      return PRIMARY;
+    }
+
+    return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:5000}")
+  public void checkReplicaLag() {
+    List<String> healthy = new ArrayList<>(replicas.size());
+
+    replicas.forEach(
+        (name, dataSource) -> {
+          long lag = lagMillis(name, dataSource);
+
+          if (lag >= 0 && lag <= maxLag.toMillis()) {
+            healthy.add(name);
+          } else if (healthyReplicas.contains(name)) {
+            log.warn("Replica {} removed from rotation, lag: {} ms", name, lag);
+          }
+        });
+
+    if (healthy.size() > healthyReplicas.size()) {
+      log.info("Replicas in rotation: {}", healthy);
+    }
+
+    healthyReplicas = List.copyOf(healthy);
+  }
+
+  public List<String> getHealthyReplicas() {
+    return healthyReplicas;
+  }
+
+  public void close() {
+    healthyReplicas = List.of();
+
+    replicas.forEach(
+        (name, dataSource) -> {
+          if (dataSource instanceof AutoCloseable closeable) {
+            try {
+              closeable.close();
+            } catch (Exception e) {
+              log.warn("Failed to close replica {}: {}", name, e.getMessage());
+            }
+          }
+        });
+  }
+
+  private static long lagMillis(String name, DataSource dataSource) {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    } catch (Exception e) {
+      log.debug("Lag check failed for replica {}: {}", name, e.getMessage());
+      return -1;
+    }
+  }
+}
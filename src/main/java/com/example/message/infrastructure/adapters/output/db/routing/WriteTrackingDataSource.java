@@ -0,0 +1,27 @@
+package com.example.message.infrastructure.adapters.output.db.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+public class WriteTrackingDataSource extends DelegatingDataSource {
+  private final ReadYourWritesTracker tracker;
+
+  public WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker tracker) {
+    super(primary);
+    this.tracker = tracker;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    tracker.recordWrite();
+    return super.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    tracker.recordWrite();
+    return super.getConnection(username, password);
+  }
+}
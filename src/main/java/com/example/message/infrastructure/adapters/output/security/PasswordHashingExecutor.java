@@ -0,0 +1,147 @@
+package com.example.message.infrastructure.adapters.output.security;
+
+import com.example.message.core.exceptions.infrastructure.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class PasswordHashingExecutor {
+  private static final String UNAVAILABLE_MESSAGE =
+      "Password hashing is temporarily saturated. Please try again later.";
+
+  private final ThreadPoolExecutor pool;
+  private final Semaphore bulkPermits;
+  private final Duration timeout;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejections;
+
+  public PasswordHashingExecutor(
+      int threads, int queueCapacity, Duration timeout, MeterRegistry meterRegistry) {
+    AtomicInteger counter = new AtomicInteger();
+
+    this.pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(queueCapacity),
+            runnable -> new HashingThread(runnable, "password-hash-" + counter.incrementAndGet()),
+            new ThreadPoolExecutor.AbortPolicy());
+    // Bulk work may hold at most half the workers so interactive logins always find one free.
+    this.bulkPermits = new Semaphore(Math.max(1, threads / 2));
+    this.timeout = timeout;
+    this.encodeTimer = hashTimer(meterRegistry, "encode");
+    this.matchesTimer = hashTimer(meterRegistry, "matches");
+    this.rejections =
+        Counter.builder("password.hashing.rejected")
+            .description("Hashing requests rejected because the queue was full")
+            .register(meterRegistry);
+
+    Gauge.builder("password.hashing.queue.size", pool, p -> p.getQueue().size())
+        .description("Hashing requests waiting for a worker")
+        .register(meterRegistry);
+    Gauge.builder("password.hashing.active", pool, ThreadPoolExecutor::getActiveCount)
+        .description("Workers currently hashing")
+        .register(meterRegistry);
+  }
+
+  public String encode(Supplier<String> task) {
+    return call(task, encodeTimer);
+  }
+
+  public boolean matches(Supplier<Boolean> task) {
+    return call(task, matchesTimer);
+  }
+
+  public void executeBulk(Runnable task) {
+    try {
+      bulkPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+    }
+
+    try {
+      pool.execute(
+          () -> {
+            try {
+              task.run();
+            } finally {
+              bulkPermits.release();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      bulkPermits.release();
+      rejections.increment();
+      throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+    }
+  }
+
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  private <T> T call(Supplier<T> task, Timer timer) {
+    if (Thread.currentThread() instanceof HashingThread) {
+      return timer.record(task);
+    }
+
+    Future<T> future;
+
+    try {
+      future = pool.submit(() -> timer.record(task));
+    } catch (RejectedExecutionException e) {
+      rejections.increment();
+      log.warn("Rejected password hashing request, queue is full");
+      throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+    }
+
+    try {
+      return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+    return Timer.builder("password.hashing.duration")
+        .description("Time spent hashing or verifying a password")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private static final class HashingThread extends Thread {
+    HashingThread(Runnable runnable, String name) {
+      super(runnable, name);
+      setDaemon(true);
+    }
+  }
+}
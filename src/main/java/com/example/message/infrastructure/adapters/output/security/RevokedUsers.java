@@ -0,0 +1,114 @@
+package com.example.message.infrastructure.adapters.output.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Node-local record of users deleted within the last token lifetime, so tokens verified from their
+ * claims alone stop authenticating once the user is gone, without a lookup per request.
+ *
+ * <p>Revocations are announced over Redis pub/sub and kept in a sorted set scored by revocation
+ * time. Pub/sub is fire-and-forget, so each node also reloads the set on a schedule, which is what
+ * a freshly started node starts from as well.
+ */
+@Slf4j
+public class RevokedUsers implements MessageListener {
+  private static final String SEPARATOR = "\n";
+
+  private final StringRedisTemplate redisTemplate;
+  private final Settings settings;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Cache<Long, Long> revokedAt;
+
+  public RevokedUsers(StringRedisTemplate redisTemplate, Settings settings) {
+    this.redisTemplate = redisTemplate;
+    this.settings = settings;
+    this.revokedAt =
+        Caffeine.newBuilder()
+            .maximumSize(settings.maxEntries())
+            .expireAfterWrite(settings.retention())
+            .build();
+  }
+
+  public record Settings(String channel, String key, Duration retention, long maxEntries) {}
+
+  public String getChannel() {
+    return settings.channel();
+  }
+
+  /** True when the user was deleted after the token was issued. */
+  public boolean isRevoked(Long userId, long issuedAt) {
+    Long revoked = revokedAt.getIfPresent(userId);
+
+    return revoked != null && issuedAt <= revoked;
+  }
+
+  public void revoke(Long userId) {
+    long now = System.currentTimeMillis();
+
+    revokedAt.put(userId, now);
+
+    try {
+      redisTemplate.opsForZSet().add(settings.key(), userId.toString(), now);
+      redisTemplate.opsForZSet()
+          .removeRangeByScore(settings.key(), 0, now - settings.retention().toMillis());
+      redisTemplate.convertAndSend(
+          settings.channel(), nodeId + SEPARATOR + userId + SEPARATOR + now);
+    } catch (RuntimeException e) {
+      log.warn("Failed to publish revocation of user {}: {}", userId, e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+
+    if (parts.length != 3 || nodeId.equals(parts[0])) {
+      return;
+    }
+
+    try {
+      revokedAt.asMap().merge(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Math::max);
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed revocation message: {}", e.getMessage());
+    }
+  }
+
+  @Scheduled(
+      initialDelay = 0,
+      fixedDelayString = "${app.jwt.revocation.sync-interval:10000}")
+  public void sync() {
+    long since = System.currentTimeMillis() - settings.retention().toMillis();
+
+    try {
+      Set<TypedTuple<String>> revoked =
+          redisTemplate
+              .opsForZSet()
+              .rangeByScoreWithScores(settings.key(), since, Double.POSITIVE_INFINITY);
+
+      if (revoked == null) {
+        return;
+      }
+
+      for (TypedTuple<String> entry : revoked) {
+        if (entry.getValue() != null && entry.getScore() != null) {
+          revokedAt
+              .asMap()
+              .merge(Long.parseLong(entry.getValue()), entry.getScore().longValue(), Math::max);
+        }
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to load revoked users: {}", e.getMessage());
+    }
+  }
+}
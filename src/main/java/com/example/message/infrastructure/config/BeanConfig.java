@@ -3,14 +3,64 @@ package com.example.message.infrastructure.config;
 import com.example.message.core.ports.input.UserUseCase;
 import com.example.message.core.ports.output.UserRepositoryPort;
 import com.example.message.core.services.UserService;
+import com.example.message.infrastructure.adapters.output.cache.CoalescingUserRepository;
+import com.example.message.infrastructure.adapters.output.cache.EmailExistenceFilter;
+import com.example.message.infrastructure.adapters.output.cache.HotUserKeys;
+import com.example.message.infrastructure.adapters.output.db.repositories.JpaUserRepository;
+import com.example.message.infrastructure.adapters.output.security.PasswordHashingExecutor;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class BeanConfig {
   @Bean
-  public UserUseCase userUseCase(UserRepositoryPort userRepositoryPort, PasswordEncoder passwordEncoder) {
-    return new UserService(userRepositoryPort, passwordEncoder);
+  public UserUseCase userUseCase(
+      UserRepositoryPort userRepositoryPort,
+      PasswordEncoder passwordEncoder,
+      PasswordHashingExecutor passwordHashingExecutor) {
+    return new UserService(
+        userRepositoryPort, passwordEncoder, passwordHashingExecutor::executeBulk);
+  }
+
+  @Bean
+  @Primary
+  public CoalescingUserRepository coalescingUserRepository(
+      JpaUserRepository jpaUserRepository,
+      CacheManager cacheManager,
+      StringRedisTemplate redisTemplate,
+      RedisSerializer<Object> userCacheValueSerializer,
+      EmailExistenceFilter emailExistenceFilter,
+      HotUserKeys hotUserKeys,
+      @Value("${app.cache.coalescing.lock-enabled:true}") boolean lockEnabled,
+      @Value("${app.cache.coalescing.lock-lease:3000}") long lockLease,
+      @Value("${app.cache.coalescing.lock-wait:500}") long lockWait,
+      @Value("${app.cache.coalescing.early-refresh-beta:1.0}") double earlyRefreshBeta,
+      @Value("${app.cache.coalescing.max-tracked-keys:10000}") int maxTrackedKeys,
+      @Value("${app.cache.coalescing.refresh-threads:2}") int refreshThreads,
+      @Value("${app.cache.coalescing.refresh-queue-capacity:100}") int refreshQueueCapacity,
+      @Value("${spring.cache.redis.time-to-live:1800000}") long timeToLive) {
+    return new CoalescingUserRepository(
+        jpaUserRepository,
+        cacheManager,
+        redisTemplate,
+        userCacheValueSerializer,
+        emailExistenceFilter,
+        hotUserKeys,
+        new CoalescingUserRepository.Settings(
+            lockEnabled,
+            Duration.ofMillis(lockLease),
+            Duration.ofMillis(lockWait),
+            Duration.ofMillis(timeToLive),
+            earlyRefreshBeta,
+            maxTrackedKeys,
+            refreshThreads,
+            refreshQueueCapacity));
   }
 }
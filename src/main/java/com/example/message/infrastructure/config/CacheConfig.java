@@ -1,35 +1,157 @@
 package com.example.message.infrastructure.config;
 
+import com.example.message.infrastructure.adapters.output.cache.CacheInvalidationListener;
+import com.example.message.infrastructure.adapters.output.cache.CacheInvalidationPublisher;
+import com.example.message.infrastructure.adapters.output.cache.EmailExistenceFilter;
+import com.example.message.infrastructure.adapters.output.cache.StaleUserCache;
+import com.example.message.infrastructure.adapters.output.cache.TwoLevelCacheManager;
+import com.example.message.infrastructure.adapters.output.cache.UserCacheInvalidator;
+import com.example.message.infrastructure.adapters.output.cache.UserCacheSerializer;
+import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
-
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableCaching
+@EnableScheduling
 public class CacheConfig {
 
   @Bean
-  public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+  public CacheInvalidationPublisher cacheInvalidationPublisher(
+      StringRedisTemplate redisTemplate,
+      @Value("${app.cache.near.invalidation-channel:cache:invalidation}") String channel) {
+    return new CacheInvalidationPublisher(redisTemplate, channel);
+  }
+
+  @Bean
+  public EmailExistenceFilter emailExistenceFilter(
+      JpaUserRepo jpaUserRepo,
+      StringRedisTemplate redisTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${app.cache.email-filter.enabled:true}") boolean enabled,
+      @Value("${app.cache.email-filter.channel:cache:email-filter}") String channel,
+      @Value("${app.cache.email-filter.expected-insertions:1000000}") long expectedInsertions,
+      @Value("${app.cache.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+      @Value("${app.cache.email-filter.batch-size:5000}") int batchSize) {
+    return new EmailExistenceFilter(
+        jpaUserRepo,
+        redisTemplate,
+        new EmailExistenceFilter.Settings(
+            enabled, channel, expectedInsertions, falsePositiveRate, batchSize),
+        meterRegistry);
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "app.cache.email-filter.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public RedisMessageListenerContainer emailFilterListenerContainer(
+      RedisConnectionFactory connectionFactory, EmailExistenceFilter emailExistenceFilter) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(
+        emailExistenceFilter, new ChannelTopic(emailExistenceFilter.getChannel()));
+
+    return container;
+  }
+
+  @Bean
+  public RedisSerializer<Object> userCacheValueSerializer(
+      @Value("${app.cache.serializer.format:binary}") String serializerFormat,
+      @Value("${app.cache.serializer.compression-threshold:512}") int compressionThreshold) {
     RedisSerializer<Object> jsonSerializer = RedisSerializer.json();
 
+    return "json".equalsIgnoreCase(serializerFormat)
+        ? jsonSerializer
+        : new UserCacheSerializer(jsonSerializer, compressionThreshold);
+  }
+
+  @Bean
+  public CacheManager cacheManager(
+      RedisConnectionFactory connectionFactory,
+      RedisSerializer<Object> userCacheValueSerializer,
+      CacheInvalidationPublisher invalidationPublisher,
+      @Value("${app.cache.near.enabled:true}") boolean nearCacheEnabled,
+      @Value("${app.cache.near.caches:userById,userByEmail}") Set<String> nearCacheNames,
+      @Value("${app.cache.near.maximum-size:10000}") long nearCacheMaximumSize,
+      @Value("${app.cache.near.time-to-live:300000}") long nearCacheTimeToLive,
+      @Value("${spring.cache.redis.time-to-live:1800000}") long timeToLive,
+      @Value("${app.cache.pages.time-to-live:60000}") long pageTimeToLive,
+      @Value("${app.cache.stale.time-to-live:86400000}") long staleTimeToLive) {
     RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-        .entryTtl(Duration.ofMinutes(30))
+        .entryTtl(Duration.ofMillis(timeToLive))
         .disableCachingNullValues()
         .serializeKeysWith(
             RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
         .serializeValuesWith(
-            RedisSerializationContext.SerializationPair.fromSerializer(jsonSerializer));
+            RedisSerializationContext.SerializationPair.fromSerializer(userCacheValueSerializer));
+
+    RedisCacheWriter cacheWriter =
+        RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000));
+
+    RedisCacheManager redisCacheManager =
+        RedisCacheManager.builder(cacheWriter)
+            .cacheDefaults(config)
+            .enableStatistics()
+            .withCacheConfiguration(
+                UserCacheInvalidator.USERS, config.entryTtl(Duration.ofMillis(pageTimeToLive)))
+            .withCacheConfiguration(
+                StaleUserCache.USERS, config.entryTtl(Duration.ofMillis(staleTimeToLive)))
+            .withCacheConfiguration(
+                StaleUserCache.USER_BY_ID, config.entryTtl(Duration.ofMillis(staleTimeToLive)))
+            .withCacheConfiguration(
+                StaleUserCache.USER_BY_EMAIL, config.entryTtl(Duration.ofMillis(staleTimeToLive)))
+            .build();
+
+    if (!nearCacheEnabled) {
+      return redisCacheManager;
+    }
+
+    return new TwoLevelCacheManager(
+        redisCacheManager,
+        nearCacheNames,
+        nearCacheMaximumSize,
+        Duration.ofMillis(nearCacheTimeToLive),
+        invalidationPublisher);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.cache.near.enabled", havingValue = "true", matchIfMissing = true)
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+      RedisConnectionFactory connectionFactory,
+      CacheManager cacheManager,
+      CacheInvalidationPublisher invalidationPublisher) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    container.setConnectionFactory(connectionFactory);
 
-    return RedisCacheManager.builder(connectionFactory).cacheDefaults(config).build();
+    if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+      container.addMessageListener(
+          new CacheInvalidationListener(twoLevelCacheManager, invalidationPublisher.getNodeId()),
+          new ChannelTopic(invalidationPublisher.getChannel()));
+    }
 
+    return container;
   }
 }
@@ -0,0 +1,40 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.infrastructure.adapters.input.web.filters.ConcurrencyLimitFilter;
+import com.example.message.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+  @Bean
+  public ConcurrencyLimitFilter concurrencyLimitFilter(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+      @Value("${app.concurrency-limit.initial-limit:50}") int initialLimit,
+      @Value("${app.concurrency-limit.min-limit:5}") int minLimit,
+      @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+      @Value("${app.concurrency-limit.window:100}") long window,
+      @Value("${app.concurrency-limit.tolerance:1.5}") double tolerance,
+      @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+      @Value("${app.concurrency-limit.baseline-windows:600}") int baselineWindows) {
+    return new ConcurrencyLimitFilter(
+        objectMapper,
+        meterRegistry,
+        enabled,
+        new AdaptiveConcurrencyLimiter.Settings(
+            initialLimit,
+            minLimit,
+            maxLimit,
+            Duration.ofMillis(window),
+            tolerance,
+            smoothing,
+            baselineWindows));
+  }
+}
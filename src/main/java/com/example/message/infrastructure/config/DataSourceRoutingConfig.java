@@ -0,0 +1,103 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.infrastructure.adapters.output.db.profiling.StatementProfilingPostProcessor;
+import com.example.message.infrastructure.adapters.output.db.routing.ReadYourWritesTracker;
+import com.example.message.infrastructure.adapters.output.db.routing.ReplicaRoutingDataSource;
+import com.example.message.infrastructure.adapters.output.db.routing.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker(
+      @Value("${app.datasource.routing.sticky-window:5000}") long stickyWindow,
+      @Value("${app.datasource.routing.max-tracked-writers:10000}") long maxTrackedWriters) {
+    return new ReadYourWritesTracker(Duration.ofMillis(stickyWindow), maxTrackedWriters);
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties properties,
+      ReadYourWritesTracker readYourWritesTracker,
+      MeterRegistry meterRegistry,
+      ObjectProvider<StatementProfilingPostProcessor> statementProfiler,
+      @Value("${app.datasource.routing.replica-urls}") List<String> replicaUrls,
+      @Value("${app.datasource.routing.replica-pool-size:10}") int replicaPoolSize,
+      @Value("${app.datasource.routing.max-lag:5000}") long maxLag) {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    List<String> urls =
+        replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+
+    for (int i = 0; i < urls.size(); i++) {
+      String name = "replica-" + (i + 1);
+      HikariDataSource replica = new HikariDataSource();
+
+      replica.setPoolName(primaryDataSource.getPoolName() + "-" + name);
+      replica.setJdbcUrl(urls.get(i));
+      replica.setUsername(properties.determineUsername());
+      replica.setPassword(properties.determinePassword());
+      replica.setMaximumPoolSize(replicaPoolSize);
+      replica.setMinimumIdle(Math.min(primaryDataSource.getMinimumIdle(), replicaPoolSize));
+      replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+      replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+      replica.setKeepaliveTime(primaryDataSource.getKeepaliveTime());
+      replica.setReadOnly(true);
+      replica.setInitializationFailTimeout(-1);
+      replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+      // Replica pools are not beans, so they are profiled here rather than by the post-processor.
+      StatementProfilingPostProcessor profiler = statementProfiler.getIfAvailable();
+
+      replicas.put(
+          name,
+          profiler != null
+              ? (DataSource) profiler.postProcessAfterInitialization(replica, name)
+              : replica);
+    }
+
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replicas, readYourWritesTracker, Duration.ofMillis(maxLag));
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource,
+      ReplicaRoutingDataSource replicaRoutingDataSource,
+      ReadYourWritesTracker readYourWritesTracker) {
+    LazyConnectionDataSourceProxy dataSource =
+        new LazyConnectionDataSourceProxy(
+            new WriteTrackingDataSource(primaryDataSource, readYourWritesTracker));
+
+    dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+
+    return dataSource;
+  }
+}
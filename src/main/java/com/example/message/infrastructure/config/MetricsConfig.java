@@ -0,0 +1,38 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.infrastructure.adapters.output.cache.TwoLevelCache;
+import com.example.message.infrastructure.metrics.PortMetricsPostProcessor;
+import com.example.message.infrastructure.metrics.TwoLevelCacheMetrics;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+  // Static and lazy so the registry is not created while post-processors are still being
+  // registered, which would skip the binders and filters Boot applies to it.
+  @Bean
+  @ConditionalOnProperty(
+      name = "app.metrics.ports.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public static PortMetricsPostProcessor portMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new PortMetricsPostProcessor(meterRegistry::getObject);
+  }
+
+  @Bean
+  public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+    return TwoLevelCacheMetrics::new;
+  }
+
+  @Bean
+  public MicrometerOptions lettuceMicrometerOptions() {
+    return MicrometerOptions.builder().histogram(true).build();
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.infrastructure.adapters.input.web.filters.RateLimitFilter;
+import com.example.message.infrastructure.ratelimit.LocalRateLimiter;
+import com.example.message.infrastructure.ratelimit.RateLimit;
+import com.example.message.infrastructure.ratelimit.RateLimiter;
+import com.example.message.infrastructure.ratelimit.RedisRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+  @Bean
+  public RateLimiter rateLimiter(
+      StringRedisTemplate redisTemplate,
+      @Value("${app.rate-limit.mode:local}") String mode,
+      @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+      @Value("${app.rate-limit.idle-timeout:600000}") long idleTimeout,
+      @Value("${app.rate-limit.key-prefix:rate:}") String keyPrefix) {
+    RateLimiter local = new LocalRateLimiter(maxKeys, Duration.ofMillis(idleTimeout));
+
+    return "redis".equalsIgnoreCase(mode)
+        ? new RedisRateLimiter(redisTemplate, local, keyPrefix)
+        : local;
+  }
+
+  @Bean
+  public RateLimitFilter rateLimitFilter(
+      RateLimiter rateLimiter,
+      ApplicationAvailability availability,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.rate-limit.enabled:true}") boolean enabled,
+      @Value("${app.rate-limit.period:60000}") long period,
+      @Value("${app.rate-limit.login.per-address:30}") int loginPerAddress,
+      @Value("${app.rate-limit.login.per-email:10}") int loginPerEmail,
+      @Value("${app.rate-limit.signup.per-address:20}") int signupPerAddress,
+      @Value("${app.rate-limit.per-user:1200}") int perUser,
+      @Value("${app.rate-limit.max-body-bytes:4096}") int maxBodyBytes) {
+    Duration window = Duration.ofMillis(period);
+
+    return new RateLimitFilter(
+        rateLimiter,
+        availability,
+        objectMapper,
+        meterRegistry,
+        new RateLimitFilter.Settings(
+            enabled,
+            new RateLimit("login-address", loginPerAddress, window),
+            new RateLimit("login-email", loginPerEmail, window),
+            new RateLimit("signup-address", signupPerAddress, window),
+            new RateLimit("user", perUser, window),
+            maxBodyBytes));
+  }
+
+  // Only the security filter chain runs the filter; a second servlet-level registration would
+  // charge every request twice.
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(
+      RateLimitFilter rateLimitFilter) {
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(rateLimitFilter);
+    registration.setEnabled(false);
+
+    return registration;
+  }
+}
@@ -1,15 +1,21 @@
 package com.example.message.infrastructure.config;
 
+import com.example.message.infrastructure.resilience.DeadlineAwareSleeper;
+import com.example.message.infrastructure.resilience.RetryBudget;
+import com.example.message.infrastructure.resilience.RetryBudgetListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.ConnectException;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.RecoverableDataAccessException;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.backoff.Sleeper;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 
@@ -40,4 +46,23 @@ public class RetryConfig {
 
     return retryTemplate;
   }
+
+  @Bean
+  public Sleeper retrySleeper() {
+    return new DeadlineAwareSleeper();
+  }
+
+  @Bean
+  public RetryBudgetListener repositoryRetryListener(
+      @Value("${app.retry.max-attempts:3}") int maxAttempts,
+      @Value("${app.retry.initial-interval:100}") long initialInterval,
+      @Value("${app.retry.budget.ratio:0.1}") double budgetRatio,
+      @Value("${app.retry.budget.max-tokens:20}") int budgetMaxTokens,
+      MeterRegistry meterRegistry) {
+    return new RetryBudgetListener(
+        new RetryBudget(budgetRatio, budgetMaxTokens),
+        maxAttempts,
+        initialInterval / 2,
+        meterRegistry);
+  }
 }
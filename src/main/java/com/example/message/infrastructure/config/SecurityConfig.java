@@ -1,8 +1,20 @@
 package com.example.message.infrastructure.config;
 
 import com.example.message.infrastructure.adapters.input.web.filters.JwtFilter;
+import com.example.message.infrastructure.adapters.input.web.filters.RateLimitFilter;
+import com.example.message.infrastructure.adapters.output.security.OffloadingPasswordEncoder;
+import com.example.message.infrastructure.adapters.output.security.PasswordHashingExecutor;
+import com.example.message.infrastructure.adapters.output.security.RevokedUsers;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -16,26 +28,72 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
 
+  @Bean(destroyMethod = "shutdown")
+  public PasswordHashingExecutor passwordHashingExecutor(
+      @Value("${app.security.hashing.threads:0}") int threads,
+      @Value("${app.security.hashing.queue-capacity:1000}") int queueCapacity,
+      @Value("${app.security.hashing.timeout:5000}") long timeout,
+      MeterRegistry meterRegistry) {
+    return new PasswordHashingExecutor(
+        threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+        queueCapacity,
+        Duration.ofMillis(timeout),
+        meterRegistry);
+  }
+
+  @Bean
+  public PasswordEncoder passwordEncoder(
+      PasswordHashingExecutor passwordHashingExecutor,
+      @Value("${app.security.hashing.bcrypt-strength:10}") int strength) {
+    return new OffloadingPasswordEncoder(
+        new BCryptPasswordEncoder(strength), passwordHashingExecutor);
+  }
+
+  @Bean
+  public RevokedUsers revokedUsers(
+      StringRedisTemplate redisTemplate,
+      @Value("${app.jwt.revocation.channel:auth:revoked}") String channel,
+      @Value("${app.jwt.revocation.key:auth:revoked-users}") String key,
+      @Value("${app.jwt.revocation.max-entries:100000}") long maxEntries,
+      @Value("${app.jwt.expiration:86400000}") long tokenLifetime) {
+    return new RevokedUsers(
+        redisTemplate,
+        new RevokedUsers.Settings(channel, key, Duration.ofMillis(tokenLifetime), maxEntries));
+  }
+
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public RedisMessageListenerContainer revokedUsersListenerContainer(
+      RedisConnectionFactory connectionFactory, RevokedUsers revokedUsers) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(revokedUsers, new ChannelTopic(revokedUsers.getChannel()));
+
+    return container;
   }
 
   @Bean
-  public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtFilter jwtFilter)
-      throws Exception {
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity http, JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) throws Exception {
     return http.csrf(csrf -> csrf.disable())
         .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers(
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers(
                         "/api/auth/**", "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**")
                     .permitAll()
                     .requestMatchers(HttpMethod.POST, "/api/users")
                     .permitAll()
+                    .requestMatchers("/actuator/health", "/actuator/health/**")
+                    .permitAll()
+                    .requestMatchers("/actuator/**")
+                    .hasRole("ADMIN")
                     .anyRequest()
                     .authenticated())
         .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(rateLimitFilter, JwtFilter.class)
         .build();
   }
 }
@@ -0,0 +1,42 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.infrastructure.adapters.output.db.profiling.StatementProfiler;
+import com.example.message.infrastructure.adapters.output.db.profiling.StatementProfilingPostProcessor;
+import com.example.message.infrastructure.adapters.output.db.profiling.StatementStats;
+import com.example.message.infrastructure.metrics.SqlStatementsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(
+    name = "app.datasource.slow-query.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SlowQueryConfig {
+
+  @Bean
+  public static StatementStats statementStats(
+      @Value("${app.datasource.slow-query.max-fingerprints:500}") int maxFingerprints) {
+    return new StatementStats(maxFingerprints);
+  }
+
+  @Bean
+  public static StatementProfilingPostProcessor statementProfilingPostProcessor(
+      StatementStats statementStats,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${app.datasource.slow-query.threshold:200}") long threshold) {
+    return new StatementProfilingPostProcessor(
+        new StatementProfiler(
+            statementStats, Duration.ofMillis(threshold), meterRegistry::getObject));
+  }
+
+  @Bean
+  public SqlStatementsEndpoint sqlStatementsEndpoint(StatementStats statementStats) {
+    return new SqlStatementsEndpoint(statementStats);
+  }
+}
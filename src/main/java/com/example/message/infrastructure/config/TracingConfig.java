@@ -0,0 +1,73 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.infrastructure.adapters.input.web.interceptors.ControllerSpanInterceptor;
+import com.example.message.infrastructure.tracing.BatchingSpanExporter;
+import com.example.message.infrastructure.tracing.HttpSpanSink;
+import com.example.message.infrastructure.tracing.SpanExporter;
+import com.example.message.infrastructure.tracing.TraceSampler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Slf4j
+public class TracingConfig implements WebMvcConfigurer {
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new ControllerSpanInterceptor());
+  }
+
+  @Bean
+  public TraceSampler traceSampler(
+      @Value("${app.tracing.sampling.ratio:0.01}") double ratio,
+      @Value("${app.tracing.sampling.tail-latency:1000}") long tailLatency,
+      @Value("${app.tracing.sampling.tail-errors:true}") boolean tailErrors) {
+    return new TraceSampler(
+        new TraceSampler.Settings(
+            ratio, tailLatency > 0 ? Duration.ofMillis(tailLatency) : null, tailErrors));
+  }
+
+  @Bean
+  public SpanExporter spanExporter(
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.tracing.exporter.type:none}") String type,
+      @Value("${app.tracing.exporter.endpoint:http://localhost:9411/api/spans}") URI endpoint,
+      @Value("${app.tracing.exporter.timeout:2000}") long timeout,
+      @Value("${app.tracing.exporter.batch-size:512}") int batchSize,
+      @Value("${app.tracing.exporter.queue-capacity:4096}") int queueCapacity,
+      @Value("${app.tracing.exporter.flush-interval:1000}") long flushInterval) {
+    BatchingSpanExporter.Settings settings =
+        new BatchingSpanExporter.Settings(
+            batchSize, queueCapacity, Duration.ofMillis(flushInterval));
+
+    return switch (type.toLowerCase()) {
+      case "http" ->
+          new BatchingSpanExporter(
+              new HttpSpanSink(endpoint, Duration.ofMillis(timeout), objectMapper),
+              settings,
+              meterRegistry);
+      case "log" ->
+          new BatchingSpanExporter(
+              spans -> {
+                try {
+                  log.info("spans {}", objectMapper.writeValueAsString(spans));
+                } catch (JsonProcessingException e) {
+                  throw new IllegalStateException("Unable to serialize spans", e);
+                }
+              },
+              settings,
+              meterRegistry);
+      default -> SpanExporter.NONE;
+    };
+  }
+}
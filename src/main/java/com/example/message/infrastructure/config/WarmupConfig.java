@@ -0,0 +1,57 @@
+package com.example.message.infrastructure.config;
+
+import com.example.message.core.ports.output.TokenRepositoryPort;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.adapters.output.cache.HotUserKeys;
+import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import com.example.message.infrastructure.warmup.StartupWarmer;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class WarmupConfig {
+
+  @Bean
+  public HotUserKeys hotUserKeys(
+      StringRedisTemplate redisTemplate,
+      @Value("${app.warmup.hot-keys.key:users:hot}") String key,
+      @Value("${app.warmup.hot-keys.max-keys:10000}") int maxKeys) {
+    return new HotUserKeys(redisTemplate, key, maxKeys);
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+  public StartupWarmer startupWarmer(
+      DataSource dataSource,
+      StringRedisTemplate redisTemplate,
+      HotUserKeys hotUserKeys,
+      JpaUserRepo jpaUserRepo,
+      UserRepositoryPort userRepositoryPort,
+      CacheManager cacheManager,
+      TokenRepositoryPort tokenRepositoryPort,
+      Environment environment,
+      @Value("${app.warmup.connections:10}") int connections,
+      @Value("${app.warmup.users:5000}") int users,
+      @Value("${app.warmup.batch-size:100}") int batchSize,
+      @Value("${app.warmup.requests:200}") int requests,
+      @Value("${app.warmup.timeout:30000}") long timeout) {
+    return new StartupWarmer(
+        dataSource,
+        redisTemplate,
+        hotUserKeys,
+        jpaUserRepo,
+        userRepositoryPort,
+        cacheManager,
+        tokenRepositoryPort,
+        environment,
+        new StartupWarmer.Settings(
+            connections, users, batchSize, requests, Duration.ofMillis(timeout)));
+  }
+}
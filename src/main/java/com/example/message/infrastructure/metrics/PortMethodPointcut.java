@@ -0,0 +1,25 @@
+package com.example.message.infrastructure.metrics;
+
+import java.lang.reflect.Method;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.util.ClassUtils;
+
+public class PortMethodPointcut extends StaticMethodMatcherPointcut {
+  static final String PORTS_PACKAGE = "com.example.message.core.ports";
+
+  @Override
+  public boolean matches(Method method, Class<?> targetClass) {
+    return portOf(method, targetClass) != null;
+  }
+
+  static Class<?> portOf(Method method, Class<?> targetClass) {
+    for (Class<?> type : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+      if (type.getPackageName().startsWith(PORTS_PACKAGE)
+          && ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+        return type;
+      }
+    }
+
+    return null;
+  }
+}
@@ -0,0 +1,141 @@
+package com.example.message.infrastructure.metrics;
+
+import com.example.message.infrastructure.resilience.Fallbacks;
+import com.example.message.infrastructure.tracing.Span;
+import com.example.message.infrastructure.tracing.Tracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+public class PortMetricsInterceptor implements MethodInterceptor {
+  public static final String METRIC = "port.calls";
+
+  private static final Outcome[] OUTCOMES = Outcome.values();
+  private static final String OUTPUT_ADAPTERS = ".adapters.output.";
+
+  private final Supplier<MeterRegistry> meterRegistry;
+  private final Map<Method, Instrument> instruments = new ConcurrentHashMap<>();
+
+  public PortMetricsInterceptor(Supplier<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  enum Outcome {
+    FOUND("found"),
+    NOT_FOUND("not_found"),
+    SUCCESS("success"),
+    FALLBACK("fallback"),
+    ERROR("error");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    Instrument instrument =
+        instruments.computeIfAbsent(method, m -> new Instrument(m, invocation.getThis()));
+    long fallbacks = Fallbacks.count();
+    Span span = Tracing.start(instrument.phase, instrument.spanName);
+    long start = System.nanoTime();
+    Outcome outcome = Outcome.ERROR;
+
+    try {
+      Object result = invocation.proceed();
+      outcome = outcome(method, result, fallbacks);
+      return result;
+    } finally {
+      timer(instrument, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      Tracing.end(span, outcome == Outcome.ERROR);
+    }
+  }
+
+  private static Outcome outcome(Method method, Object result, long fallbacks) {
+    if (Fallbacks.count() != fallbacks) {
+      return Outcome.FALLBACK;
+    }
+
+    if (!method.getName().startsWith("find")) {
+      return Outcome.SUCCESS;
+    }
+
+    // Whether the lookup found anything, not where it came from: cache hits and misses are
+    // reported per tier by the cache meters.
+    boolean empty = result == null || result instanceof Collection<?> c && c.isEmpty();
+
+    return empty ? Outcome.NOT_FOUND : Outcome.FOUND;
+  }
+
+  // Meters are registered on first use per method and outcome, so the hot path is a map lookup
+  // and an array read once a method has been seen.
+  private Timer timer(Instrument instrument, Outcome outcome) {
+    Timer timer = instrument.timers[outcome.ordinal()];
+
+    if (timer == null) {
+      timer =
+          Timer.builder(METRIC)
+              .description("Latency of port method calls by adapter and outcome")
+              .tag("port", instrument.port)
+              .tag("adapter", instrument.adapter)
+              .tag("method", instrument.method)
+              .tag("outcome", outcome.tag)
+              .publishPercentileHistogram()
+              .register(meterRegistry.get());
+      instrument.timers[outcome.ordinal()] = timer;
+    }
+
+    return timer;
+  }
+
+  private static final class Instrument {
+    private final String port;
+    private final String adapter;
+    private final String method;
+    private final String phase;
+    private final String spanName;
+    private final Timer[] timers = new Timer[OUTCOMES.length];
+
+    Instrument(Method method, Object target) {
+      Class<?> adapterClass = ClassUtils.getUserClass(target.getClass());
+      Class<?> portClass = PortMethodPointcut.portOf(method, adapterClass);
+
+      this.port = portClass != null ? portClass.getSimpleName() : "unknown";
+      this.adapter = adapterClass.getSimpleName();
+      this.method = method.getName();
+      this.phase = phase(portClass, adapterClass);
+      this.spanName = adapter + "." + this.method;
+    }
+
+    // Input ports are the service layer; output adapters are named after the package they live
+    // in under adapters.output, e.g. cache or db.
+    private static String phase(Class<?> port, Class<?> adapter) {
+      if (port != null && port.getPackageName().endsWith(".input")) {
+        return "service";
+      }
+
+      String packageName = adapter.getPackageName();
+      int index = packageName.indexOf(OUTPUT_ADAPTERS);
+
+      if (index < 0) {
+        return "adapter";
+      }
+
+      String rest = packageName.substring(index + OUTPUT_ADAPTERS.length());
+      int dot = rest.indexOf('.');
+
+      return dot < 0 ? rest : rest.substring(0, dot);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.message.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+/**
+ * Times every method a bean implements from a core port. Beans already proxied for retries,
+ * circuit breaking or caching get the timer as their outermost advice, so recorded latencies
+ * include retry backoff and fallbacks.
+ */
+public class PortMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+  public PortMetricsPostProcessor(Supplier<MeterRegistry> meterRegistry) {
+    this.advisor =
+        new DefaultPointcutAdvisor(
+            new PortMethodPointcut(), new PortMetricsInterceptor(meterRegistry));
+    this.beforeExistingAdvisors = true;
+    setProxyTargetClass(true);
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.message.infrastructure.metrics;
+
+import com.example.message.infrastructure.adapters.output.db.profiling.StatementStats;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+@Endpoint(id = "sqlstatements")
+public class SqlStatementsEndpoint {
+  private static final int DEFAULT_LIMIT = 50;
+
+  private final StatementStats stats;
+
+  public SqlStatementsEndpoint(StatementStats stats) {
+    this.stats = stats;
+  }
+
+  @ReadOperation
+  public List<StatementStats.Snapshot> statements(@Nullable Integer limit) {
+    return stats.snapshot().stream().limit(limit != null ? limit : DEFAULT_LIMIT).toList();
+  }
+
+  @DeleteOperation
+  public void reset() {
+    stats.reset();
+  }
+}
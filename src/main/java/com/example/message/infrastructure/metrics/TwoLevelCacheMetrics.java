@@ -0,0 +1,69 @@
+package com.example.message.infrastructure.metrics;
+
+import com.example.message.infrastructure.adapters.output.cache.TwoLevelCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import java.util.function.ToLongFunction;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Reports a near cache and the Redis cache behind it as one cache: a read is a hit if either layer
+ * answered it and a miss only if both missed. Near-layer hits are also exported on their own.
+ */
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+  private final TwoLevelCache cache;
+
+  public TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+    super(cache, cache.getName(), tags);
+    this.cache = cache;
+  }
+
+  @Override
+  protected Long size() {
+    return cache.localSize();
+  }
+
+  @Override
+  protected long hitCount() {
+    return cache.localStats().hitCount() + remote(CacheStatistics::getHits);
+  }
+
+  @Override
+  protected Long missCount() {
+    return remote(CacheStatistics::getMisses);
+  }
+
+  @Override
+  protected Long evictionCount() {
+    return cache.localStats().evictionCount();
+  }
+
+  @Override
+  protected long putCount() {
+    return remote(CacheStatistics::getPuts);
+  }
+
+  @Override
+  protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    FunctionCounter.builder("cache.near.gets", cache, c -> c.localStats().hitCount())
+        .tags(getTagsWithCacheName())
+        .tag("result", "hit")
+        .description("Reads answered by the in-process near cache")
+        .register(registry);
+
+    FunctionCounter.builder("cache.near.gets", cache, c -> c.localStats().missCount())
+        .tags(getTagsWithCacheName())
+        .tag("result", "miss")
+        .description("Reads that fell through the near cache to Redis")
+        .register(registry);
+  }
+
+  private long remote(ToLongFunction<CacheStatistics> statistic) {
+    return cache.getRemote() instanceof RedisCache redisCache
+        ? statistic.applyAsLong(redisCache.getStatistics())
+        : 0;
+  }
+}
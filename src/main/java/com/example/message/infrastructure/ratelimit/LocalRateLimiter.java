@@ -0,0 +1,32 @@
+package com.example.message.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+/**
+ * Per-node token buckets. Buckets idle longer than {@code idleTimeout} have refilled anyway and are
+ * dropped; under a flood of distinct keys the size bound evicts the least useful buckets, so
+ * memory stays flat at the cost of forgetting some of the flood's history.
+ */
+public class LocalRateLimiter implements RateLimiter {
+  private final Cache<String, TokenBucket> buckets;
+
+  public LocalRateLimiter(long maxKeys, Duration idleTimeout) {
+    this.buckets =
+        Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(idleTimeout).build();
+  }
+
+  @Override
+  public long tryAcquire(RateLimit limit, String key) {
+    long now = System.nanoTime();
+
+    return buckets.get(limit.name() + ':' + key, k -> new TokenBucket(limit, now)).tryAcquire(now);
+  }
+
+  long size() {
+    buckets.cleanUp();
+
+    return buckets.estimatedSize();
+  }
+}
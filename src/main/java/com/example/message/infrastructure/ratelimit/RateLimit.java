@@ -0,0 +1,12 @@
+package com.example.message.infrastructure.ratelimit;
+
+import java.time.Duration;
+
+/** A named rule admitting {@code permits} calls per {@code period}, with bursts up to permits. */
+public record RateLimit(String name, int permits, Duration period) {
+  public RateLimit {
+    if (permits <= 0 || period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("Rate limit " + name + " must allow at least one call");
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.message.infrastructure.ratelimit;
+
+public interface RateLimiter {
+  /**
+   * Takes one permit from the bucket of {@code key} under {@code limit}. Returns 0 when the call is
+   * admitted, otherwise the nanoseconds to wait before a permit becomes available.
+   */
+  long tryAcquire(RateLimit limit, String key);
+}
@@ -0,0 +1,82 @@
+package com.example.message.infrastructure.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Sliding-window counter shared by every node: the count of the current fixed window plus the
+ * previous window's count weighted by how much of it still overlaps the sliding window. Two small
+ * counters per key instead of a log of timestamps, decided atomically in one script round trip.
+ *
+ * <p>The node-local buckets run first with the same limits. A node can never admit more than the
+ * cluster does, so anything they reject is rejected without touching Redis, and when Redis is
+ * unreachable they keep enforcing a per-node limit instead of failing closed.
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+  private static final RedisScript<Long> SLIDING_WINDOW =
+      RedisScript.of(
+          """
+          local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+          local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+          if previous * tonumber(ARGV[2]) + current >= tonumber(ARGV[1]) then
+            return 0
+          end
+          redis.call('INCR', KEYS[1])
+          redis.call('PEXPIRE', KEYS[1], ARGV[3])
+          return 1
+          """,
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final RateLimiter local;
+  private final String prefix;
+
+  public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimiter local, String prefix) {
+    this.redisTemplate = redisTemplate;
+    this.local = local;
+    this.prefix = prefix;
+  }
+
+  @Override
+  public long tryAcquire(RateLimit limit, String key) {
+    long wait = local.tryAcquire(limit, key);
+
+    if (wait > 0) {
+      return wait;
+    }
+
+    long window = limit.period().toMillis();
+    long now = System.currentTimeMillis();
+    long index = now / window;
+    long elapsed = now - index * window;
+    String base = prefix + "{" + limit.name() + ':' + key + "}:";
+
+    try {
+      Long admitted =
+          redisTemplate.execute(
+              SLIDING_WINDOW,
+              List.of(base + index, base + (index - 1)),
+              Integer.toString(limit.permits()),
+              Double.toString(1.0 - (double) elapsed / window),
+              Long.toString(window * 2));
+
+      if (admitted == null || admitted == 1) {
+        return 0;
+      }
+
+      return TimeUnit.MILLISECONDS.toNanos(window - elapsed);
+    } catch (DataAccessException e) {
+      log.debug(
+          "Shared rate limit unavailable for {}, using the local limit: {}",
+          limit.name(),
+          e.getMessage());
+
+      return 0;
+    }
+  }
+}
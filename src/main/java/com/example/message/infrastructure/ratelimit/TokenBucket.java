@@ -0,0 +1,36 @@
+package com.example.message.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (the GCRA formulation): the bucket is
+ * full when that time is in the past and empty when it is a whole period ahead. Acquiring is one
+ * CAS on a long, so contended keys never block and an idle bucket costs one object.
+ */
+final class TokenBucket {
+  private final long interval;
+  private final long tolerance;
+  private final AtomicLong arrival;
+
+  TokenBucket(RateLimit limit, long now) {
+    this.interval = Math.max(limit.period().toNanos() / limit.permits(), 1);
+    this.tolerance = interval * limit.permits();
+    this.arrival = new AtomicLong(now);
+  }
+
+  long tryAcquire(long now) {
+    while (true) {
+      long current = arrival.get();
+      long next = Math.max(current, now) + interval;
+      long wait = next - now - tolerance;
+
+      if (wait > 0) {
+        return wait;
+      }
+
+      if (arrival.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.message.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows latency, after the gradient limiters derived from TCP Vegas: each
+ * window compares the window's mean latency with a slow moving baseline. While they match, the
+ * limit grows by its square root, which is the queue we are willing to build. When latency rises
+ * above the tolerated multiple of the baseline, the limit shrinks in proportion, down to half per
+ * window. Smoothing keeps a single slow window from collapsing the limit.
+ *
+ * <p>Requests carry a priority that caps the share of the limit they may occupy, so as the limit
+ * shrinks, low priority work is turned away while critical calls still get in.
+ */
+public class AdaptiveConcurrencyLimiter {
+  private final Settings settings;
+  private final long windowNanos;
+  private final AtomicInteger inflight = new AtomicInteger();
+  private final AtomicInteger peakInflight = new AtomicInteger();
+  private final LongAdder rttSum = new LongAdder();
+  private final LongAdder samples = new LongAdder();
+  private final AtomicLong windowEnd;
+  private volatile double limit;
+  // Written by whichever thread closes a window; volatile so the next window's thread sees it.
+  private volatile double baselineRtt;
+
+  public AdaptiveConcurrencyLimiter(Settings settings) {
+    this.settings = settings;
+    this.windowNanos = settings.window().toNanos();
+    this.windowEnd = new AtomicLong(System.nanoTime() + windowNanos);
+    this.limit = settings.initialLimit();
+  }
+
+  public record Settings(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      Duration window,
+      double tolerance,
+      double smoothing,
+      int baselineWindows) {}
+
+  public enum Priority {
+    CRITICAL(1.0),
+    NORMAL(0.9),
+    LOW(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+      this.share = share;
+    }
+  }
+
+  public boolean tryAcquire(Priority priority) {
+    int current = inflight.incrementAndGet();
+
+    if (current > Math.max(1, limit * priority.share)) {
+      inflight.decrementAndGet();
+      return false;
+    }
+
+    peakInflight.accumulateAndGet(current, Math::max);
+    return true;
+  }
+
+  public void release(long rttNanos) {
+    release(rttNanos, System.nanoTime());
+  }
+
+  void release(long rttNanos, long now) {
+    inflight.decrementAndGet();
+    rttSum.add(rttNanos);
+    samples.increment();
+
+    long end = windowEnd.get();
+
+    if (now - end >= 0 && windowEnd.compareAndSet(end, now + windowNanos)) {
+      update();
+    }
+  }
+
+  public int limit() {
+    return (int) limit;
+  }
+
+  public int inflight() {
+    return inflight.get();
+  }
+
+  // Only the thread that won the window CAS gets here, so updates never run concurrently.
+  private void update() {
+    long count = samples.sumThenReset();
+    long sum = rttSum.sumThenReset();
+    int peak = peakInflight.getAndSet(inflight.get());
+
+    if (count == 0) {
+      return;
+    }
+
+    double rtt = (double) sum / count;
+    baselineRtt =
+        baselineRtt == 0 ? rtt : baselineRtt + (rtt - baselineRtt) / settings.baselineWindows();
+
+    // Latency fell well below the baseline (a slow period ended): let the baseline catch up
+    // quickly instead of over several hundred windows.
+    if (baselineRtt > 2 * rtt) {
+      baselineRtt *= 0.95;
+    }
+
+    double current = limit;
+
+    // Growing a limit the traffic never reaches would only let a later burst through unchecked.
+    if (peak < current / 2 && rtt <= baselineRtt * settings.tolerance()) {
+      return;
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, settings.tolerance() * baselineRtt / rtt));
+    double target = current * gradient + Math.sqrt(current);
+    double next = current * (1 - settings.smoothing()) + target * settings.smoothing();
+
+    limit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), next));
+  }
+}
@@ -0,0 +1,17 @@
+package com.example.message.infrastructure.resilience;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.retry.backoff.Sleeper;
+
+public class DeadlineAwareSleeper implements Sleeper {
+
+  @Override
+  public void sleep(long backOffPeriod) throws InterruptedException {
+    long jittered = ThreadLocalRandom.current().nextLong(backOffPeriod / 2, backOffPeriod + 1);
+    long sleep = Math.min(jittered, RequestDeadline.remainingMillis());
+
+    if (sleep > 0) {
+      Thread.sleep(sleep);
+    }
+  }
+}
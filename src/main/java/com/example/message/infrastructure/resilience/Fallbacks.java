@@ -0,0 +1,19 @@
+package com.example.message.infrastructure.resilience;
+
+/**
+ * Per-thread count of reads answered from a fallback instead of the database. It only ever grows,
+ * so any enclosing call can compare before and after without resetting state for the others.
+ */
+public final class Fallbacks {
+  private static final ThreadLocal<long[]> SERVED = ThreadLocal.withInitial(() -> new long[1]);
+
+  private Fallbacks() {}
+
+  public static void record() {
+    SERVED.get()[0]++;
+  }
+
+  public static long count() {
+    return SERVED.get()[0];
+  }
+}
@@ -0,0 +1,27 @@
+package com.example.message.infrastructure.resilience;
+
+import java.time.Duration;
+
+public final class RequestDeadline {
+  private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+  private RequestDeadline() {}
+
+  public static void start(Duration budget) {
+    DEADLINE.set(System.nanoTime() + budget.toNanos());
+  }
+
+  public static void clear() {
+    DEADLINE.remove();
+  }
+
+  public static long remainingMillis() {
+    Long deadline = DEADLINE.get();
+
+    if (deadline == null) {
+      return Long.MAX_VALUE;
+    }
+
+    return Math.max(0, Duration.ofNanos(deadline - System.nanoTime()).toMillis());
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.message.infrastructure.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RetryBudget {
+  private static final long TOKEN = 1000;
+
+  private final long depositPerCall;
+  private final long maxBalance;
+  private final AtomicLong balance;
+
+  public RetryBudget(double retryRatio, int maxTokens) {
+    this.depositPerCall = Math.round(retryRatio * TOKEN);
+    this.maxBalance = maxTokens * TOKEN;
+    this.balance = new AtomicLong(maxBalance);
+  }
+
+  public void deposit() {
+    balance.accumulateAndGet(
+        depositPerCall, (current, delta) -> Math.min(maxBalance, current + delta));
+  }
+
+  public boolean tryWithdraw() {
+    long current;
+
+    do {
+      current = balance.get();
+
+      if (current < TOKEN) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - TOKEN));
+
+    return true;
+  }
+
+  public double available() {
+    return (double) balance.get() / TOKEN;
+  }
+}
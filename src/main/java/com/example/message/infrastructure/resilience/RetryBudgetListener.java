@@ -0,0 +1,90 @@
+package com.example.message.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+@Slf4j
+public class RetryBudgetListener implements RetryListener {
+  private final RetryBudget budget;
+  private final int maxAttempts;
+  private final long minBackoff;
+  private final Counter retried;
+  private final Counter budgetExhausted;
+  private final Counter deadlineExceeded;
+  private final Counter recovered;
+  private final DistributionSummary attempts;
+
+  public RetryBudgetListener(
+      RetryBudget budget, int maxAttempts, long minBackoff, MeterRegistry meterRegistry) {
+    this.budget = budget;
+    this.maxAttempts = maxAttempts;
+    this.minBackoff = minBackoff;
+    this.retried = outcome(meterRegistry, "retried");
+    this.budgetExhausted = outcome(meterRegistry, "budget_exhausted");
+    this.deadlineExceeded = outcome(meterRegistry, "deadline_exceeded");
+    this.recovered = outcome(meterRegistry, "recovered");
+    this.attempts =
+        DistributionSummary.builder("repository.retry.attempts")
+            .description("Attempts made per retryable repository call")
+            .baseUnit("attempts")
+            .serviceLevelObjectives(1, 2, 3)
+            .register(meterRegistry);
+
+    Gauge.builder("repository.retry.budget", budget, RetryBudget::available)
+        .description("Retries currently available before the budget is exhausted")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public <T, E extends Throwable> boolean open(RetryContext context, RetryCallback<T, E> callback) {
+    budget.deposit();
+    return true;
+  }
+
+  @Override
+  public <T, E extends Throwable> void close(
+      RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+    attempts.record(context.getRetryCount() + (throwable == null ? 1 : 0));
+
+    if (context.hasAttribute(RetryContext.RECOVERED)) {
+      recovered.increment();
+    }
+  }
+
+  @Override
+  public <T, E extends Throwable> void onError(
+      RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+    if (context.getRetryCount() >= maxAttempts) {
+      return;
+    }
+
+    if (RequestDeadline.remainingMillis() < minBackoff) {
+      log.debug("Not retrying {}: request deadline reached", context.getAttribute(RetryContext.NAME));
+      deadlineExceeded.increment();
+      context.setExhaustedOnly();
+      return;
+    }
+
+    if (!budget.tryWithdraw()) {
+      log.debug("Not retrying {}: retry budget exhausted", context.getAttribute(RetryContext.NAME));
+      budgetExhausted.increment();
+      context.setExhaustedOnly();
+      return;
+    }
+
+    retried.increment();
+  }
+
+  private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("repository.retry")
+        .description("Repository retry decisions")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
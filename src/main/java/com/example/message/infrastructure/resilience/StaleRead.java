@@ -0,0 +1,22 @@
+package com.example.message.infrastructure.resilience;
+
+public final class StaleRead {
+  private static final ThreadLocal<Boolean> STALE = new ThreadLocal<>();
+
+  private StaleRead() {}
+
+  public static void mark() {
+    STALE.set(Boolean.TRUE);
+  }
+
+  public static boolean consume() {
+    boolean stale = Boolean.TRUE.equals(STALE.get());
+    STALE.remove();
+
+    return stale;
+  }
+
+  public static void clear() {
+    STALE.remove();
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.message.infrastructure.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands spans to a sink from a single background thread so request threads never wait on the
+ * collector. When the queue is full, spans are dropped and counted rather than blocking.
+ */
+@Slf4j
+public class BatchingSpanExporter implements SpanExporter {
+  private final BlockingQueue<Span> queue;
+  private final Consumer<List<Span>> sink;
+  private final int batchSize;
+  private final ScheduledExecutorService scheduler;
+  private final Counter exported;
+  private final Counter dropped;
+
+  public BatchingSpanExporter(
+      Consumer<List<Span>> sink, Settings settings, MeterRegistry meterRegistry) {
+    this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+    this.sink = sink;
+    this.batchSize = settings.batchSize();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "span-exporter");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.exported = spans(meterRegistry, "exported");
+    this.dropped = spans(meterRegistry, "dropped");
+
+    long interval = settings.flushInterval().toMillis();
+    scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  public record Settings(int batchSize, int queueCapacity, Duration flushInterval) {}
+
+  @Override
+  public void export(List<Span> spans) {
+    for (Span span : spans) {
+      if (!queue.offer(span)) {
+        dropped.increment();
+      }
+    }
+  }
+
+  public void flush() {
+    List<Span> batch = new ArrayList<>(batchSize);
+
+    while (queue.drainTo(batch, batchSize) > 0) {
+      try {
+        sink.accept(batch);
+        exported.increment(batch.size());
+      } catch (RuntimeException e) {
+        log.warn("Failed to export {} spans: {}", batch.size(), e.getMessage());
+        dropped.increment(batch.size());
+      }
+
+      batch = new ArrayList<>(batchSize);
+    }
+  }
+
+  public void shutdown() {
+    scheduler.shutdown();
+    flush();
+  }
+
+  private static Counter spans(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("tracing.spans")
+        .description("Spans handed to the exporter")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.message.infrastructure.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/** Posts each batch as a JSON array to a collector, or anything standing in for one locally. */
+public class HttpSpanSink implements Consumer<List<Span>> {
+  private final HttpClient client;
+  private final URI endpoint;
+  private final Duration timeout;
+  private final ObjectMapper objectMapper;
+
+  public HttpSpanSink(URI endpoint, Duration timeout, ObjectMapper objectMapper) {
+    this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    this.endpoint = endpoint;
+    this.timeout = timeout;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void accept(List<Span> spans) {
+    HttpRequest request =
+        HttpRequest.newBuilder(endpoint)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(serialize(spans)))
+            .build();
+
+    try {
+      HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+
+      if (response.statusCode() >= 300) {
+        throw new IllegalStateException("Collector responded with " + response.statusCode());
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Collector unreachable: " + e.getMessage(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while exporting spans", e);
+    }
+  }
+
+  private byte[] serialize(List<Span> spans) {
+    try {
+      return objectMapper.writeValueAsBytes(spans);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to serialize spans", e);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.message.infrastructure.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+public class Span {
+  private final String traceId;
+  private final long spanId;
+  private final long parentSpanId;
+  private final String kind;
+  private final String name;
+  private final long startEpochMicros;
+  private final long startNanos;
+  private long durationMicros;
+  private boolean error;
+  private String detail;
+
+  Span(String traceId, long spanId, long parentSpanId, String kind, String name) {
+    this.traceId = traceId;
+    this.spanId = spanId;
+    this.parentSpanId = parentSpanId;
+    this.kind = kind;
+    this.name = name;
+    this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    this.startNanos = System.nanoTime();
+  }
+
+  void finish(boolean error) {
+    this.durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    this.error = error;
+  }
+
+  public void setDetail(String detail) {
+    this.detail = detail;
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public String getSpanId() {
+    return TraceContext.hex(spanId);
+  }
+
+  public String getParentSpanId() {
+    return parentSpanId != 0 ? TraceContext.hex(parentSpanId) : null;
+  }
+
+  public String getKind() {
+    return kind;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getStartEpochMicros() {
+    return startEpochMicros;
+  }
+
+  public long getDurationMicros() {
+    return durationMicros;
+  }
+
+  public boolean isError() {
+    return error;
+  }
+
+  public String getDetail() {
+    return detail;
+  }
+
+  long spanId() {
+    return spanId;
+  }
+
+  long parentSpanId() {
+    return parentSpanId;
+  }
+}
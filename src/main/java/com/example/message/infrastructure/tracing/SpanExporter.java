@@ -0,0 +1,9 @@
+package com.example.message.infrastructure.tracing;
+
+import java.util.List;
+
+public interface SpanExporter {
+  SpanExporter NONE = spans -> {};
+
+  void export(List<Span> spans);
+}
@@ -0,0 +1,103 @@
+package com.example.message.infrastructure.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A W3C trace context. Ids come from {@link ThreadLocalRandom}: they only need to be unique, not
+ * unpredictable, and unlike {@code UUID.randomUUID()} this never touches {@code SecureRandom}.
+ */
+public record TraceContext(long traceIdHigh, long traceIdLow, long spanId, boolean sampled) {
+  public static final String HEADER = "traceparent";
+
+  private static final HexFormat HEX = HexFormat.of();
+  private static final int LENGTH = 55;
+
+  public static TraceContext newRoot(boolean sampled) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long high = random.nextLong();
+    long low = random.nextLong();
+
+    if (high == 0 && low == 0) {
+      low = 1;
+    }
+
+    return new TraceContext(high, low, nextSpanId(), sampled);
+  }
+
+  public TraceContext child(boolean sampled) {
+    return new TraceContext(traceIdHigh, traceIdLow, nextSpanId(), sampled);
+  }
+
+  /** Returns null for a missing or malformed header so the caller starts a new trace. */
+  public static TraceContext parse(String header) {
+    if (header == null) {
+      return null;
+    }
+
+    String value = header.trim();
+
+    if (value.length() < LENGTH
+        || value.charAt(2) != '-'
+        || value.charAt(35) != '-'
+        || value.charAt(52) != '-'
+        || !isHex(value, 0, 2)
+        || value.startsWith("ff")
+        || (value.startsWith("00") && value.length() != LENGTH)
+        || (value.length() > LENGTH && value.charAt(LENGTH) != '-')
+        || !isHex(value, 3, 35)
+        || !isHex(value, 36, 52)
+        || !isHex(value, 53, 55)) {
+      return null;
+    }
+
+    long high = HexFormat.fromHexDigitsToLong(value, 3, 19);
+    long low = HexFormat.fromHexDigitsToLong(value, 19, 35);
+    long parent = HexFormat.fromHexDigitsToLong(value, 36, 52);
+    int flags = HexFormat.fromHexDigits(value, 53, 55);
+
+    if ((high == 0 && low == 0) || parent == 0) {
+      return null;
+    }
+
+    return new TraceContext(high, low, parent, (flags & 1) != 0);
+  }
+
+  public String traceId() {
+    return HEX.toHexDigits(traceIdHigh) + HEX.toHexDigits(traceIdLow);
+  }
+
+  public String spanIdHex() {
+    return HEX.toHexDigits(spanId);
+  }
+
+  public String toTraceparent() {
+    return "00-" + traceId() + "-" + spanIdHex() + (sampled ? "-01" : "-00");
+  }
+
+  static long nextSpanId() {
+    long id;
+
+    do {
+      id = ThreadLocalRandom.current().nextLong();
+    } while (id == 0);
+
+    return id;
+  }
+
+  static String hex(long id) {
+    return HEX.toHexDigits(id);
+  }
+
+  private static boolean isHex(String value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      char c = value.charAt(i);
+
+      if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
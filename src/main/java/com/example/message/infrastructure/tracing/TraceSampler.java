@@ -0,0 +1,40 @@
+package com.example.message.infrastructure.tracing;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Head sampling decides up front, from the caller's flag or a ratio, and is what the response
+ * advertises. Tail sampling additionally keeps unsampled requests that turned out slow or failed,
+ * which means buffering their spans until the response is known.
+ */
+public class TraceSampler {
+  private final Settings settings;
+  private final long tailLatencyNanos;
+
+  public TraceSampler(Settings settings) {
+    this.settings = settings;
+    this.tailLatencyNanos =
+        settings.tailLatency() != null ? settings.tailLatency().toNanos() : Long.MAX_VALUE;
+  }
+
+  public record Settings(double ratio, Duration tailLatency, boolean tailErrors) {}
+
+  public boolean sampleHead(TraceContext incoming) {
+    if (incoming != null) {
+      return incoming.sampled();
+    }
+
+    return settings.ratio() > 0 && ThreadLocalRandom.current().nextDouble() < settings.ratio();
+  }
+
+  public boolean recordsUnsampled() {
+    return tailLatencyNanos != Long.MAX_VALUE || settings.tailErrors();
+  }
+
+  public boolean keep(boolean headSampled, long durationNanos, int status) {
+    return headSampled
+        || durationNanos >= tailLatencyNanos
+        || (settings.tailErrors() && status >= 500);
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.message.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the trace of the request running on the current thread. Spans are only buffered while the
+ * request may still be exported; otherwise {@link #start} returns null and costs a thread-local
+ * read.
+ */
+public final class Tracing {
+  private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+  private Tracing() {}
+
+  private static final class Scope {
+    private final TraceContext context;
+    private final String traceId;
+    private final boolean recording;
+    private final List<Span> finished = new ArrayList<>();
+    private long currentSpanId;
+
+    Scope(TraceContext context, boolean recording) {
+      this.context = context;
+      this.traceId = context.traceId();
+      this.recording = recording;
+    }
+  }
+
+  /** Opens the server span of a request; its id is the one propagated in the response. */
+  public static Span begin(
+      TraceContext context, long parentSpanId, String name, boolean recording) {
+    Scope scope = new Scope(context, recording);
+    SCOPE.set(scope);
+
+    if (!recording) {
+      return null;
+    }
+
+    Span span = new Span(scope.traceId, context.spanId(), parentSpanId, "http", name);
+    scope.currentSpanId = span.spanId();
+
+    return span;
+  }
+
+  public static Span start(String kind, String name) {
+    Scope scope = SCOPE.get();
+
+    if (scope == null || !scope.recording) {
+      return null;
+    }
+
+    Span span =
+        new Span(scope.traceId, TraceContext.nextSpanId(), scope.currentSpanId, kind, name);
+    scope.currentSpanId = span.spanId();
+
+    return span;
+  }
+
+  public static void end(Span span, boolean error) {
+    if (span == null) {
+      return;
+    }
+
+    span.finish(error);
+
+    Scope scope = SCOPE.get();
+
+    if (scope != null && scope.recording) {
+      scope.finished.add(span);
+      scope.currentSpanId = span.parentSpanId();
+    }
+  }
+
+  public static TraceContext current() {
+    Scope scope = SCOPE.get();
+
+    return scope != null ? scope.context : null;
+  }
+
+  /** Closes the trace on this thread and returns its finished spans. */
+  public static List<Span> finish() {
+    Scope scope = SCOPE.get();
+    SCOPE.remove();
+
+    return scope != null ? scope.finished : List.of();
+  }
+}
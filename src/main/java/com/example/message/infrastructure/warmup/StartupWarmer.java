@@ -0,0 +1,202 @@
+package com.example.message.infrastructure.warmup;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.ports.output.TokenRepositoryPort;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.adapters.output.cache.HotUserKeys;
+import com.example.message.infrastructure.adapters.output.cache.TwoLevelCache;
+import com.example.message.infrastructure.adapters.output.cache.UserCacheInvalidator;
+import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisConnectionCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Runs before the application reports ready: Spring Boot only moves readiness to ACCEPTING_TRAFFIC
+ * after every ApplicationRunner returns. Each step is best effort and bounded by the warm-up
+ * timeout, so a failing dependency delays readiness at most that long and never fails startup.
+ */
+@Slf4j
+public class StartupWarmer implements ApplicationRunner {
+  private final DataSource dataSource;
+  private final StringRedisTemplate redisTemplate;
+  private final HotUserKeys hotUserKeys;
+  private final JpaUserRepo jpaUserRepo;
+  private final UserRepositoryPort userRepository;
+  private final CacheManager cacheManager;
+  private final TokenRepositoryPort tokenRepository;
+  private final Environment environment;
+  private final Settings settings;
+
+  public StartupWarmer(
+      DataSource dataSource,
+      StringRedisTemplate redisTemplate,
+      HotUserKeys hotUserKeys,
+      JpaUserRepo jpaUserRepo,
+      UserRepositoryPort userRepository,
+      CacheManager cacheManager,
+      TokenRepositoryPort tokenRepository,
+      Environment environment,
+      Settings settings) {
+    this.dataSource = dataSource;
+    this.redisTemplate = redisTemplate;
+    this.hotUserKeys = hotUserKeys;
+    this.jpaUserRepo = jpaUserRepo;
+    this.userRepository = userRepository;
+    this.cacheManager = cacheManager;
+    this.tokenRepository = tokenRepository;
+    this.environment = environment;
+    this.settings = settings;
+  }
+
+  public record Settings(
+      int connections, int users, int batchSize, int requests, Duration timeout) {}
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    long deadline = start + settings.timeout().toNanos();
+
+    warmConnectionPools();
+    List<User> users = preloadUsers(deadline);
+    int requests = warmRequestPaths(users, deadline);
+
+    log.info(
+        "Warm-up finished in {} ms: {} users preloaded, {} synthetic requests",
+        Duration.ofNanos(System.nanoTime() - start).toMillis(),
+        users.size(),
+        requests);
+  }
+
+  void warmConnectionPools() {
+    List<Connection> held = new ArrayList<>(settings.connections());
+
+    try {
+      for (int i = 0; i < settings.connections(); i++) {
+        Connection connection = dataSource.getConnection();
+        held.add(connection);
+        connection.isValid(1);
+      }
+    } catch (SQLException | RuntimeException e) {
+      log.warn("Connection warm-up stopped after {}: {}", held.size(), e.getMessage());
+    } finally {
+      held.forEach(StartupWarmer::closeQuietly);
+    }
+
+    try {
+      redisTemplate.execute((RedisCallback<String>) RedisConnectionCommands::ping);
+    } catch (RuntimeException e) {
+      log.warn("Redis warm-up ping failed: {}", e.getMessage());
+    }
+  }
+
+  List<User> preloadUsers(long deadline) {
+    List<User> loaded = new ArrayList<>();
+
+    try {
+      List<Long> ids = hotUserKeys.mostRecent(settings.users());
+
+      if (ids.isEmpty()) {
+        ids = jpaUserRepo.findRecentlyUpdatedIds(Limit.of(settings.users()));
+      }
+
+      for (int from = 0; from < ids.size() && System.nanoTime() < deadline; ) {
+        int to = Math.min(from + settings.batchSize(), ids.size());
+        List<User> batch = userRepository.findAllByIds(ids.subList(from, to));
+
+        batch.forEach(this::putNear);
+        loaded.addAll(batch);
+        from = to;
+      }
+    } catch (RuntimeException e) {
+      log.warn("User preload stopped after {} users: {}", loaded.size(), e.getMessage());
+    }
+
+    return loaded;
+  }
+
+  int warmRequestPaths(List<User> users, long deadline) {
+    Integer port = environment.getProperty("local.server.port", Integer.class);
+
+    if (port == null || settings.requests() <= 0) {
+      return 0;
+    }
+
+    RestClient client = RestClient.create("http://localhost:" + port);
+    String cookie =
+        users.isEmpty() ? null : "jwt=" + tokenRepository.generateToken(users.get(0));
+    int sent = 0;
+
+    try {
+      for (int i = 0; i < settings.requests() && System.nanoTime() < deadline; i++) {
+        User user = users.isEmpty() ? null : users.get(i % users.size());
+
+        send(
+            client
+                .post()
+                .uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("email", "warmup@warmup.invalid", "password", "warmup-password")));
+        sent++;
+
+        if (user == null) {
+          continue;
+        }
+
+        send(client.get().uri("/api/users/{id}", user.getId()).header(HttpHeaders.COOKIE, cookie));
+        send(client.get().uri("/api/users?limit=20").header(HttpHeaders.COOKIE, cookie));
+        send(
+            client
+                .post()
+                .uri("/api/users/lookup")
+                .header(HttpHeaders.COOKIE, cookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("ids", List.of(user.getId()))));
+        sent += 3;
+      }
+    } catch (RuntimeException e) {
+      log.warn("Synthetic warm-up requests stopped after {}: {}", sent, e.getMessage());
+    }
+
+    return sent;
+  }
+
+  // Batch loads carry no password hash, so only userById is seeded; the by-email entries that
+  // login reads fill on first use through the path that loads the hash.
+  private void putNear(User user) {
+    Cache cache = cacheManager.getCache(UserCacheInvalidator.USER_BY_ID);
+
+    if (cache instanceof TwoLevelCache twoLevelCache && user.getId() != null) {
+      twoLevelCache.putLocal(user.getId(), user);
+    }
+  }
+
+  private static void send(RestClient.RequestHeadersSpec<?> request) {
+    request.exchange((req, res) -> res.getStatusCode());
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      log.debug("Failed to return warm-up connection: {}", e.getMessage());
+    }
+  }
+}
@@ -2,18 +2,24 @@ package com.example.message.core.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.message.core.domain.BulkUserResult;
 import com.example.message.core.domain.User;
+import com.example.message.core.domain.UserPage;
 import com.example.message.core.exceptions.business.*;
+import com.example.message.core.exceptions.infrastructure.DatabaseUnavailableException;
 import com.example.message.core.ports.output.UserRepositoryPort;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -101,35 +107,119 @@ class UserServiceTest {
     }
   }
 
+  @Nested
+  @DisplayName("createUsers")
+  class CreateUsers {
+
+    @Test
+    @DisplayName("should report per-row results for duplicate and existing emails")
+    void shouldReportPerRowResults() {
+      List<User> users = List.of(
+          User.builder().name("John").email("john@example.com").password("password1").build(),
+          User.builder().name("Jane").email("jane@example.com").password("password2").build(),
+          User.builder().name("Copy").email("john@example.com").password("password3").build());
+
+      when(userRepositoryPort.findExistingEmails(any())).thenReturn(Set.of("jane@example.com"));
+      when(passwordEncoder.encode("password1")).thenReturn("hashed1");
+      when(userRepositoryPort.saveAll(any())).thenReturn(List.of(
+          User.builder().id(10L).name("John").email("john@example.com").build()));
+
+      List<BulkUserResult> results = userService.createUsers(users);
+
+      assertEquals(3, results.size());
+      assertTrue(results.get(0).isCreated());
+      assertEquals(10L, results.get(0).user().getId());
+      assertTrue(results.get(1).error().contains("already exists"));
+      assertTrue(results.get(2).error().contains("Duplicate"));
+      verify(passwordEncoder, never()).encode("password2");
+    }
+
+    @Test
+    @DisplayName("should retry rows one by one when the batch insert conflicts")
+    void shouldIsolateConflictingRows() {
+      User john = User.builder().name("John").email("john@example.com").password("p1").build();
+      User jane = User.builder().name("Jane").email("jane@example.com").password("p2").build();
+
+      when(userRepositoryPort.findExistingEmails(any())).thenReturn(Set.of());
+      when(passwordEncoder.encode(anyString())).thenAnswer(i -> "hashed-" + i.getArgument(0));
+      when(userRepositoryPort.saveAll(any()))
+          .thenThrow(new ConflictException("One or more users already exist"))
+          .thenReturn(List.of(User.builder().id(1L).email("john@example.com").build()))
+          .thenThrow(new ConflictException("One or more users already exist"));
+
+      List<BulkUserResult> results = userService.createUsers(List.of(john, jane));
+
+      assertTrue(results.get(0).isCreated());
+      assertEquals("jane@example.com", results.get(1).email());
+      assertTrue(results.get(1).error().contains("already exist"));
+    }
+  }
+
   @Nested
   @DisplayName("listUsers")
   class ListUsers {
 
     @Test
-    @DisplayName("should return all users")
-    void shouldReturnAllUsers() {
+    @DisplayName("should return a page with a cursor when more users exist")
+    void shouldReturnPageWithCursor() {
       List<User> users = List.of(
           User.builder().id(1L).name("John").email("john@example.com").build(),
-          User.builder().id(2L).name("Jane").email("jane@example.com").build()
+          User.builder().id(2L).name("Jane").email("jane@example.com").build(),
+          User.builder().id(3L).name("Jack").email("jack@example.com").build()
       );
 
-      when(userRepositoryPort.findAll()).thenReturn(users);
+      when(userRepositoryPort.findPage(0L, 3)).thenReturn(users);
+
+      UserPage result = userService.listUsers(null, 2);
+
+      assertEquals(2, result.users().size());
+      assertEquals("John", result.users().get(0).getName());
+      assertEquals("Jane", result.users().get(1).getName());
+      assertNotNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("should continue after the user encoded in the cursor")
+    void shouldContinueFromCursor() {
+      when(userRepositoryPort.findPage(0L, 3)).thenReturn(List.of(
+          User.builder().id(1L).build(),
+          User.builder().id(2L).build(),
+          User.builder().id(3L).build()));
+      when(userRepositoryPort.findPage(2L, 3)).thenReturn(List.of(User.builder().id(3L).build()));
+
+      String cursor = userService.listUsers(null, 2).nextCursor();
+      UserPage result = userService.listUsers(cursor, 2);
+
+      assertEquals(1, result.users().size());
+      assertEquals(3L, result.users().get(0).getId());
+      assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("should return empty page when no users exist")
+    void shouldReturnEmptyPage() {
+      when(userRepositoryPort.findPage(0L, 21)).thenReturn(List.of());
 
-      List<User> result = userService.listUsers();
+      UserPage result = userService.listUsers(null, 20);
 
-      assertEquals(2, result.size());
-      assertEquals("John", result.get(0).getName());
-      assertEquals("Jane", result.get(1).getName());
+      assertTrue(result.users().isEmpty());
+      assertNull(result.nextCursor());
     }
 
     @Test
-    @DisplayName("should return empty list when no users exist")
-    void shouldReturnEmptyList() {
-      when(userRepositoryPort.findAll()).thenReturn(List.of());
+    @DisplayName("should cap the page size")
+    void shouldCapPageSize() {
+      when(userRepositoryPort.findPage(0L, UserPage.MAX_SIZE + 1)).thenReturn(List.of());
 
-      List<User> result = userService.listUsers();
+      userService.listUsers(null, 10_000);
 
-      assertTrue(result.isEmpty());
+      verify(userRepositoryPort).findPage(0L, UserPage.MAX_SIZE + 1);
+    }
+
+    @Test
+    @DisplayName("should throw ValidationException for a malformed cursor")
+    void shouldRejectMalformedCursor() {
+      assertThrows(ValidationException.class, () -> userService.listUsers("not a cursor!", 20));
     }
   }
 
@@ -197,20 +287,109 @@ class UserServiceTest {
     }
   }
 
+  @Nested
+  @DisplayName("findAllByIds")
+  class FindAllByIds {
+
+    @Test
+    @DisplayName("should look up each distinct id once in request order")
+    void shouldDeduplicateIds() {
+      User user = User.builder().id(2L).name("John Doe").email("john@example.com").build();
+
+      when(userRepositoryPort.findAllByIds(List.of(2L, 1L))).thenReturn(List.of(user));
+
+      assertEquals(List.of(user), userService.findAllByIds(List.of(2L, 1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("should not hit the repository for an empty request")
+    void shouldSkipEmptyRequest() {
+      assertTrue(userService.findAllByIds(List.of()).isEmpty());
+      assertTrue(userService.findAllByEmails(null).isEmpty());
+
+      verify(userRepositoryPort, never()).findAllByIds(any());
+      verify(userRepositoryPort, never()).findAllByEmails(any());
+    }
+  }
+
+  @Nested
+  @DisplayName("authenticate")
+  class Authenticate {
+
+    @Test
+    @DisplayName("should return user when password matches")
+    void shouldAuthenticate() {
+      User user = User.builder().id(1L).email("john@example.com").password("hashed").build();
+
+      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(user);
+      when(passwordEncoder.matches("password", "hashed")).thenReturn(true);
+      when(passwordEncoder.upgradeEncoding("hashed")).thenReturn(false);
+
+      assertEquals(user, userService.authenticate("john@example.com", "password"));
+      verify(userRepositoryPort, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("should throw InvalidCredentialsException when email is unknown")
+    void shouldRejectUnknownEmail() {
+      when(userRepositoryPort.findByEmail("ghost@example.com")).thenReturn(null);
+
+      assertThrows(
+          InvalidCredentialsException.class,
+          () -> userService.authenticate("ghost@example.com", "password"));
+    }
+
+    @Test
+    @DisplayName("should throw InvalidCredentialsException when password does not match")
+    void shouldRejectWrongPassword() {
+      User user = User.builder().id(1L).email("john@example.com").password("hashed").build();
+
+      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(user);
+      when(passwordEncoder.matches("wrong", "hashed")).thenReturn(false);
+
+      assertThrows(
+          InvalidCredentialsException.class,
+          () -> userService.authenticate("john@example.com", "wrong"));
+    }
+
+    @Test
+    @DisplayName("should refuse to verify against a last-known-good user without a hash")
+    void shouldNotAuthenticateAgainstStaleUser() {
+      User stale = User.builder().id(1L).email("john@example.com").build();
+
+      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(stale);
+
+      assertThrows(
+          DatabaseUnavailableException.class,
+          () -> userService.authenticate("john@example.com", "password"));
+      verify(passwordEncoder, never()).matches(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("should rehash password when stored cost factor is outdated")
+    void shouldRehashOutdatedPassword() {
+      User user = User.builder().id(1L).email("john@example.com").password("oldHash").build();
+
+      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(user);
+      when(passwordEncoder.matches("password", "oldHash")).thenReturn(true);
+      when(passwordEncoder.upgradeEncoding("oldHash")).thenReturn(true);
+      when(passwordEncoder.encode("password")).thenReturn("newHash");
+      when(userRepositoryPort.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+      User result = userService.authenticate("john@example.com", "password");
+
+      assertEquals("newHash", result.getPassword());
+      verify(userRepositoryPort).save(user);
+    }
+  }
+
   @Nested
   @DisplayName("updateUser")
   class UpdateUser {
 
     @Test
-    @DisplayName("should update user when found and email is unique")
+    @DisplayName("should apply changes in a single repository update")
     void shouldUpdateUser() {
-      User existingUser = User.builder()
-          .id(1L)
-          .name("John Doe")
-          .email("john@example.com")
-          .password("oldHashedPassword")
-          .build();
-
       User updateRequest = User.builder()
           .id(1L)
           .name("John Updated")
@@ -218,103 +397,84 @@ class UserServiceTest {
           .password("newPassword")
           .build();
 
-      User savedUser = User.builder()
+      User updatedUser = User.builder()
           .id(1L)
           .name("John Updated")
           .email("john.updated@example.com")
-          .password("newHashedPassword")
           .build();
 
-      when(userRepositoryPort.find(1L)).thenReturn(existingUser);
-      when(userRepositoryPort.findByEmail("john.updated@example.com")).thenReturn(null);
       when(passwordEncoder.encode("newPassword")).thenReturn("newHashedPassword");
-      when(userRepositoryPort.save(any(User.class))).thenReturn(savedUser);
+      when(userRepositoryPort.update(any(User.class))).thenReturn(updatedUser);
 
       User result = userService.updateUser(updateRequest);
 
+      ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+      verify(userRepositoryPort).update(captor.capture());
+
       assertEquals("John Updated", result.getName());
       assertEquals("john.updated@example.com", result.getEmail());
-      verify(passwordEncoder).encode("newPassword");
+      assertEquals("newHashedPassword", captor.getValue().getPassword());
+      verify(userRepositoryPort, never()).find(any());
+      verify(userRepositoryPort, never()).findByEmail(anyString());
+      verify(userRepositoryPort, never()).save(any(User.class));
     }
 
     @Test
-    @DisplayName("should update user keeping same email")
-    void shouldUpdateUserKeepingSameEmail() {
-      User existingUser = User.builder()
-          .id(1L)
-          .name("John Doe")
-          .email("john@example.com")
-          .password("oldHashedPassword")
-          .build();
-
+    @DisplayName("should leave password unchanged when password is null")
+    void shouldUpdateUserWithoutChangingPasswordWhenNull() {
       User updateRequest = User.builder()
           .id(1L)
           .name("John Updated")
           .email("john@example.com")
-          .password("newPassword")
+          .password(null)
           .build();
 
-      when(userRepositoryPort.find(1L)).thenReturn(existingUser);
-      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(existingUser);
-      when(passwordEncoder.encode("newPassword")).thenReturn("newHashedPassword");
-      when(userRepositoryPort.save(any(User.class))).thenReturn(existingUser);
+      when(userRepositoryPort.update(any(User.class))).thenReturn(updateRequest);
 
-      User result = userService.updateUser(updateRequest);
+      userService.updateUser(updateRequest);
 
-      assertNotNull(result);
-      verify(userRepositoryPort).save(any(User.class));
+      ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+      verify(userRepositoryPort).update(captor.capture());
+
+      assertNull(captor.getValue().getPassword());
+      verify(passwordEncoder, never()).encode(anyString());
     }
 
     @Test
-    @DisplayName("should update user without changing password when password is null")
-    void shouldUpdateUserWithoutChangingPasswordWhenNull() {
-      User existingUser = User.builder()
-          .id(1L)
-          .name("John Doe")
-          .email("john@example.com")
-          .password("oldHashedPassword")
-          .build();
-
+    @DisplayName("should leave password unchanged when password is empty")
+    void shouldUpdateUserWithoutChangingPasswordWhenEmpty() {
       User updateRequest = User.builder()
           .id(1L)
           .name("John Updated")
           .email("john@example.com")
-          .password(null)
+          .password("")
           .build();
 
-      when(userRepositoryPort.find(1L)).thenReturn(existingUser);
-      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(existingUser);
-      when(userRepositoryPort.save(any(User.class))).thenReturn(existingUser);
+      when(userRepositoryPort.update(any(User.class))).thenReturn(updateRequest);
 
       userService.updateUser(updateRequest);
 
+      ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+      verify(userRepositoryPort).update(captor.capture());
+
+      assertNull(captor.getValue().getPassword());
       verify(passwordEncoder, never()).encode(anyString());
     }
 
     @Test
-    @DisplayName("should update user without changing password when password is empty")
-    void shouldUpdateUserWithoutChangingPasswordWhenEmpty() {
-      User existingUser = User.builder()
-          .id(1L)
-          .name("John Doe")
-          .email("john@example.com")
-          .password("oldHashedPassword")
-          .build();
-
-      User updateRequest = User.builder()
-          .id(1L)
-          .name("John Updated")
-          .email("john@example.com")
-          .password("")
-          .build();
+    @DisplayName("should leave blank fields unchanged")
+    void shouldIgnoreBlankFields() {
+      User updateRequest = User.builder().id(1L).name(" ").email("john@example.com").build();
 
-      when(userRepositoryPort.find(1L)).thenReturn(existingUser);
-      when(userRepositoryPort.findByEmail("john@example.com")).thenReturn(existingUser);
-      when(userRepositoryPort.save(any(User.class))).thenReturn(existingUser);
+      when(userRepositoryPort.update(any(User.class))).thenReturn(updateRequest);
 
       userService.updateUser(updateRequest);
 
-      verify(passwordEncoder, never()).encode(anyString());
+      ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+      verify(userRepositoryPort).update(captor.capture());
+
+      assertNull(captor.getValue().getName());
+      assertEquals("john@example.com", captor.getValue().getEmail());
     }
 
     @Test
@@ -326,45 +486,29 @@ class UserServiceTest {
           .email("john@example.com")
           .build();
 
-      when(userRepositoryPort.find(1L)).thenReturn(null);
+      when(userRepositoryPort.update(any(User.class))).thenReturn(null);
 
       UserNotFoundException exception = assertThrows(UserNotFoundException.class,
           () -> userService.updateUser(updateRequest));
       assertTrue(exception.getMessage().contains("1"));
-
-      verify(userRepositoryPort, never()).save(any(User.class));
     }
 
     @Test
-    @DisplayName("should throw ConflictException when email belongs to another user")
+    @DisplayName("should propagate ConflictException when email belongs to another user")
     void shouldThrowConflictExceptionWhenEmailBelongsToAnotherUser() {
-      User existingUser = User.builder()
-          .id(1L)
-          .name("John Doe")
-          .email("john@example.com")
-          .build();
-
-      User anotherUser = User.builder()
-          .id(2L)
-          .name("Jane Doe")
-          .email("jane@example.com")
-          .build();
-
       User updateRequest = User.builder()
           .id(1L)
           .name("John Updated")
           .email("jane@example.com")
           .build();
 
-      when(userRepositoryPort.find(1L)).thenReturn(existingUser);
-      when(userRepositoryPort.findByEmail("jane@example.com")).thenReturn(anotherUser);
+      when(userRepositoryPort.update(any(User.class)))
+          .thenThrow(new ConflictException("User with email jane@example.com already exists"));
 
       ConflictException exception = assertThrows(ConflictException.class,
           () -> userService.updateUser(updateRequest));
       assertTrue(exception.getMessage().contains("jane@example.com"));
       assertTrue(exception.getMessage().contains("already exists"));
-
-      verify(userRepositoryPort, never()).save(any(User.class));
     }
   }
 
@@ -383,9 +527,30 @@ class UserServiceTest {
 
       when(userRepositoryPort.find(1L)).thenReturn(user);
 
-      userService.deleteUser(1L);
+      userService.deleteUser(1L, null);
 
-      verify(userRepositoryPort).delete(1L);
+      verify(userRepositoryPort).delete(1L, null);
+    }
+
+    @Test
+    @DisplayName("should pass the expected version to the repository")
+    void shouldPassExpectedVersion() {
+      when(userRepositoryPort.find(1L)).thenReturn(User.builder().id(1L).version(3L).build());
+
+      userService.deleteUser(1L, 3L);
+
+      verify(userRepositoryPort).delete(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("should propagate PreconditionFailedException for a stale version")
+    void shouldPropagatePreconditionFailed() {
+      when(userRepositoryPort.find(1L)).thenReturn(User.builder().id(1L).version(4L).build());
+      doThrow(new PreconditionFailedException("User 1 has changed since version 3"))
+          .when(userRepositoryPort)
+          .delete(1L, 3L);
+
+      assertThrows(PreconditionFailedException.class, () -> userService.deleteUser(1L, 3L));
     }
 
     @Test
@@ -394,10 +559,10 @@ class UserServiceTest {
       when(userRepositoryPort.find(1L)).thenReturn(null);
 
       UserNotFoundException exception = assertThrows(UserNotFoundException.class,
-          () -> userService.deleteUser(1L));
+          () -> userService.deleteUser(1L, null));
       assertTrue(exception.getMessage().contains("1"));
 
-      verify(userRepositoryPort, never()).delete(any());
+      verify(userRepositoryPort, never()).delete(any(), any());
     }
   }
 }
@@ -20,17 +20,30 @@ public abstract class BaseIntegrationTest {
 
   @LocalServerPort protected Integer port;
 
+  /**
+   * With {@code -Dit.external=true} the containers are not started and the connection settings come
+   * from the usual {@code spring.datasource.*}, {@code spring.flyway.*} and {@code
+   * spring.data.redis.*} system properties, for hosts without Docker.
+   */
+  static final boolean EXTERNAL = Boolean.getBoolean("it.external");
+
   static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
 
   static final RedisContainer redis = new RedisContainer(DockerImageName.parse("redis:7-alpine"));
 
   static {
-    postgres.start();
-    redis.start();
+    if (!EXTERNAL) {
+      postgres.start();
+      redis.start();
+    }
   }
 
   @DynamicPropertySource
   static void configureProperties(DynamicPropertyRegistry registry) {
+    if (EXTERNAL) {
+      return;
+    }
+
     registry.add("spring.datasource.url", postgres::getJdbcUrl);
     registry.add("spring.datasource.username", postgres::getUsername);
     registry.add("spring.datasource.password", postgres::getPassword);
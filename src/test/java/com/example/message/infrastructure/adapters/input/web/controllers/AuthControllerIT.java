@@ -62,6 +62,21 @@ class AuthControllerIT extends BaseIntegrationTest {
         .statusCode(HttpStatus.OK.value());
   }
 
+  @Test
+  @DisplayName("Should continue an incoming W3C trace and return its own span id")
+  void shouldPropagateTraceparent() {
+    String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    given()
+        .header("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01")
+        .when()
+        .get("/api/users")
+        .then()
+        .header("traceparent", startsWith("00-" + traceId + "-"))
+        .header("traceparent", not(containsString("00f067aa0ba902b7")))
+        .header("traceparent", endsWith("-01"));
+  }
+
   @Test
   @DisplayName("Should return 403 Forbidden when accessing protected " + "resource without cookie")
   void shouldFailWithoutToken() {
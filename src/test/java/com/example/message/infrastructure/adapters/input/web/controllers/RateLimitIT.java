@@ -0,0 +1,79 @@
+package com.example.message.infrastructure.adapters.input.web.controllers;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.message.infrastructure.BaseIntegrationTest;
+import com.example.message.infrastructure.adapters.input.web.requests.LoginRequest;
+import io.restassured.http.ContentType;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(
+    properties = {
+      "app.rate-limit.enabled=true",
+      "app.rate-limit.login.per-email=3",
+      "app.rate-limit.login.per-address=1000"
+    })
+class RateLimitIT extends BaseIntegrationTest {
+
+  @Test
+  @DisplayName("Should throttle repeated logins for one email with 429 and Retry-After")
+  void shouldThrottleLoginPerEmail() {
+    String email = "throttled" + System.nanoTime() + "@example.com";
+
+    for (int i = 0; i < 3; i++) {
+      given()
+          .contentType(ContentType.JSON)
+          .body(new LoginRequest(email, "wrong-password"))
+          .post("/api/auth/login")
+          .then()
+          .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(new LoginRequest(email.toUpperCase(), "wrong-password"))
+        .when()
+        .post("/api/auth/login")
+        .then()
+        .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+        .header("Retry-After", notNullValue())
+        .body("status", equalTo(429))
+        .body("path", equalTo("/api/auth/login"));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(new LoginRequest("other" + email, "wrong-password"))
+        .when()
+        .post("/api/auth/login")
+        .then()
+        .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()));
+  }
+
+  @Test
+  @DisplayName("Should apply the per-email limit to chunked login bodies")
+  void shouldThrottleChunkedLogins() {
+    String email = "chunked" + System.nanoTime() + "@example.com";
+    byte[] body =
+        ("{\"email\":\"" + email + "\",\"password\":\"wrong-password\"}")
+            .getBytes(StandardCharsets.UTF_8);
+    int status = 0;
+
+    for (int i = 0; i < 4; i++) {
+      status =
+          given()
+              .contentType(ContentType.JSON)
+              .body(new ByteArrayInputStream(body))
+              .post("/api/auth/login")
+              .statusCode();
+    }
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), status);
+  }
+}
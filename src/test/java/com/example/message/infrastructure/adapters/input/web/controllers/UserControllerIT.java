@@ -1,11 +1,15 @@
 package com.example.message.infrastructure.adapters.input.web.controllers;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import com.example.message.infrastructure.BaseIntegrationTest;
+import com.example.message.infrastructure.adapters.input.web.requests.LoginRequest;
+import com.example.message.infrastructure.adapters.input.web.requests.UserLookupRequest;
 import com.example.message.infrastructure.adapters.input.web.requests.UserRequest;
 import io.restassured.http.ContentType;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -48,4 +52,307 @@ class UserControllerIT extends BaseIntegrationTest {
         .body("error", equalTo("Data Conflict"))
         .body("message", containsString("already exists"));
   }
+
+  @Test
+  @DisplayName("Should page through users with an opaque cursor")
+  void shouldPageThroughUsers() {
+    for (int i = 1; i <= 3; i++) {
+      given()
+          .contentType(ContentType.JSON)
+          .body(new UserRequest("Paged User " + i, "paged" + i + "@example.com", "password"))
+          .post("/api/users");
+    }
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("paged1@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    String cursor =
+        given()
+            .cookie("jwt", jwt)
+            .queryParam("limit", 2)
+            .when()
+            .get("/api/users")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("users", hasSize(2))
+            .body("users[0].name", equalTo("Paged User 1"))
+            .body("nextCursor", notNullValue())
+            .extract()
+            .path("nextCursor");
+
+    given()
+        .cookie("jwt", jwt)
+        .queryParam("limit", 2)
+        .queryParam("cursor", cursor)
+        .when()
+        .get("/api/users")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("users", hasSize(1))
+        .body("users[0].name", equalTo("Paged User 3"))
+        .body("nextCursor", nullValue());
+  }
+
+  @Test
+  @DisplayName("Should export every user as newline-delimited JSON")
+  void shouldExportUsersAsNdjson() {
+    for (int i = 1; i <= 3; i++) {
+      given()
+          .contentType(ContentType.JSON)
+          .body(new UserRequest("Export User " + i, "export" + i + "@example.com", "password"))
+          .post("/api/users");
+    }
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("export1@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    String body =
+        given()
+            .cookie("jwt", jwt)
+            .when()
+            .get("/api/users/export")
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(containsString("application/x-ndjson"))
+            .extract()
+            .asString();
+
+    String[] lines = body.strip().split("\n");
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines[0]).contains("export1@example.com");
+    assertThat(lines[2]).doesNotContain("password");
+  }
+
+  @Test
+  @DisplayName("Should update a user in place")
+  void shouldUpdateUser() {
+    Integer id =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new UserRequest("Patch User", "patch@example.com", "password"))
+            .post("/api/users")
+            .path("id");
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("patch@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    given()
+        .cookie("jwt", jwt)
+        .contentType(ContentType.JSON)
+        .body(new UserRequest("Patched User", "patched@example.com", "newpassword"))
+        .when()
+        .patch("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("id", equalTo(id))
+        .body("name", equalTo("Patched User"))
+        .body("email", equalTo("patched@example.com"));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(new LoginRequest("patched@example.com", "newpassword"))
+        .post("/api/auth/login")
+        .then()
+        .statusCode(HttpStatus.OK.value());
+  }
+
+  @Test
+  @DisplayName("Should return 409 Conflict when updating to a taken email")
+  void shouldReturnConflictWhenUpdatingToTakenEmail() {
+    given()
+        .contentType(ContentType.JSON)
+        .body(new UserRequest("Taken User", "taken@example.com", "password"))
+        .post("/api/users");
+
+    Integer id =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new UserRequest("Other User", "other@example.com", "password"))
+            .post("/api/users")
+            .path("id");
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("other@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    given()
+        .cookie("jwt", jwt)
+        .contentType(ContentType.JSON)
+        .body(new UserRequest("Other User", "taken@example.com", "password"))
+        .when()
+        .patch("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.CONFLICT.value())
+        .body("message", containsString("already exists"));
+  }
+
+  @Test
+  @DisplayName("Should honor ETag preconditions on reads and writes")
+  void shouldHonorETagPreconditions() {
+    Integer id =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new UserRequest("Etag User", "etag@example.com", "password"))
+            .post("/api/users")
+            .path("id");
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("etag@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    String etag =
+        given()
+            .cookie("jwt", jwt)
+            .get("/api/users/" + id)
+            .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("ETag", equalTo("\"0\""))
+            .extract()
+            .header("ETag");
+
+    given()
+        .cookie("jwt", jwt)
+        .header("If-None-Match", etag)
+        .get("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.NOT_MODIFIED.value())
+        .header("ETag", equalTo(etag));
+
+    given()
+        .cookie("jwt", jwt)
+        .header("If-Match", etag)
+        .contentType(ContentType.JSON)
+        .body(new UserRequest("Etag User 2", "etag@example.com", "password"))
+        .patch("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .header("ETag", equalTo("\"1\""));
+
+    given()
+        .cookie("jwt", jwt)
+        .header("If-Match", etag)
+        .contentType(ContentType.JSON)
+        .body(new UserRequest("Lost Update", "etag@example.com", "password"))
+        .patch("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+    given()
+        .cookie("jwt", jwt)
+        .header("If-Match", etag)
+        .delete("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.PRECONDITION_FAILED.value());
+
+    given()
+        .cookie("jwt", jwt)
+        .header("If-None-Match", etag)
+        .get("/api/users/" + id)
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("name", equalTo("Etag User 2"));
+  }
+
+  @Test
+  @DisplayName("Should look up users in batch in request order")
+  void shouldLookupUsersInBatch() {
+    Integer first =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new UserRequest("Lookup One", "lookup1@example.com", "password"))
+            .post("/api/users")
+            .path("id");
+
+    Integer second =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new UserRequest("Lookup Two", "lookup2@example.com", "password"))
+            .post("/api/users")
+            .path("id");
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("lookup1@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    given().cookie("jwt", jwt).get("/api/users/" + first);
+
+    given()
+        .cookie("jwt", jwt)
+        .contentType(ContentType.JSON)
+        .body(
+            new UserLookupRequest(
+                List.of(second.longValue(), 999999L, first.longValue()),
+                List.of("lookup2@example.com")))
+        .when()
+        .post("/api/users/lookup")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("id", contains(second, first))
+        .body("[0].email", equalTo("lookup2@example.com"))
+        .body("[1].name", equalTo("Lookup One"));
+  }
+
+  @Test
+  @DisplayName("Should still log in after the user was looked up by email")
+  void shouldLoginAfterLookupByEmail() {
+    String viewer = "lookup-viewer" + System.nanoTime() + "@example.com";
+    String email = "lookup-login" + System.nanoTime() + "@example.com";
+
+    for (String address : List.of(viewer, email)) {
+      given()
+          .contentType(ContentType.JSON)
+          .body(new UserRequest("Lookup Login", address, "password"))
+          .post("/api/users")
+          .then()
+          .statusCode(HttpStatus.CREATED.value());
+    }
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest(viewer, "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    given()
+        .cookie("jwt", jwt)
+        .contentType(ContentType.JSON)
+        .body(new UserLookupRequest(null, List.of(email)))
+        .when()
+        .post("/api/users/lookup")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .body("email", contains(email));
+
+    given()
+        .contentType(ContentType.JSON)
+        .body(new LoginRequest(email, "password"))
+        .when()
+        .post("/api/auth/login")
+        .then()
+        .statusCode(HttpStatus.OK.value())
+        .cookie("jwt", notNullValue());
+  }
 }
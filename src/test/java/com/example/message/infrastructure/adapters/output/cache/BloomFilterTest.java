@@ -0,0 +1,55 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("should never report an added value as absent")
+  void shouldHaveNoFalseNegatives() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(filter.mightContain("user" + i + "@example.com"));
+    }
+  }
+
+  @Test
+  @DisplayName("should keep the false positive rate near the configured target")
+  void shouldMeetFalsePositiveTarget() {
+    BloomFilter filter = BloomFilter.create(10_000, 0.01);
+
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i + "@example.com");
+    }
+
+    int falsePositives = 0;
+
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("stranger" + i + "@example.com")) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+  }
+
+  @Test
+  @DisplayName("should report nothing for an empty filter")
+  void shouldBeEmptyInitially() {
+    BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+    assertFalse(filter.mightContain("john@example.com"));
+    assertEquals(0.0, filter.expectedFalsePositiveRate());
+  }
+}
@@ -0,0 +1,182 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.exceptions.business.ConflictException;
+import com.example.message.infrastructure.adapters.output.db.repositories.JpaUserRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingUserRepositoryTest {
+
+  @Mock
+  private JpaUserRepository delegate;
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  @Mock
+  private EmailExistenceFilter emailFilter;
+
+  @Mock
+  private HotUserKeys hotUserKeys;
+
+  private final UserCacheSerializer serializer =
+      new UserCacheSerializer(RedisSerializer.json(), 512);
+  private ConcurrentMapCacheManager cacheManager;
+  private CoalescingUserRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager = new ConcurrentMapCacheManager("userById", "userByEmail");
+    repository =
+        new CoalescingUserRepository(
+            delegate,
+            cacheManager,
+            redisTemplate,
+            serializer,
+            emailFilter,
+            hotUserKeys,
+            new CoalescingUserRepository.Settings(
+                false,
+                Duration.ofSeconds(3),
+                Duration.ofMillis(500),
+                Duration.ofMinutes(30),
+                0,
+                100,
+                1,
+                10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.shutdown();
+  }
+
+  @Test
+  @DisplayName("should collapse concurrent misses for the same key into one load")
+  void shouldCoalesceConcurrentMisses() throws Exception {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(delegate.find(1L))
+        .thenAnswer(
+            invocation -> {
+              release.await(5, TimeUnit.SECONDS);
+              return user;
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<User>> results = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      results.add(executor.submit(() -> repository.find(1L)));
+    }
+
+    Thread.sleep(200);
+    release.countDown();
+
+    for (Future<User> result : results) {
+      assertEquals(user, result.get(5, TimeUnit.SECONDS));
+    }
+
+    executor.shutdown();
+    verify(delegate, times(1)).find(1L);
+  }
+
+  @Test
+  @DisplayName("should serve cached users without calling the delegate")
+  void shouldServeCachedUser() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+    cacheManager.getCache("userById").put(1L, user);
+
+    assertEquals(user, repository.find(1L));
+    verify(delegate, never()).find(1L);
+  }
+
+  @Test
+  @DisplayName("should resolve batch hits with one MGET and load only the misses")
+  @SuppressWarnings("unchecked")
+  void shouldBatchLookupThroughCache() {
+    User cached = User.builder().id(1L).name("Cached").email("cached@example.com").build();
+    User loaded = User.builder().id(3L).name("Loaded").email("loaded@example.com").build();
+    List<byte[]> values = new ArrayList<>();
+    values.add(null);
+    values.add(serializer.serialize(cached));
+    values.add(null);
+
+    when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(values);
+    when(delegate.findAllByIds(List.of(3L, 2L))).thenReturn(List.of(loaded));
+
+    assertEquals(List.of(loaded, cached), repository.findAllByIds(List.of(3L, 1L, 2L)));
+    verify(delegate, times(1)).findAllByIds(List.of(3L, 2L));
+    verify(redisTemplate).executePipelined(any(RedisCallback.class));
+  }
+
+  @Test
+  @DisplayName("should fall back to the delegate when the batch cache read fails")
+  @SuppressWarnings("unchecked")
+  void shouldLoadAllWhenMultiGetFails() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+
+    when(emailFilter.mightExist(anyString())).thenReturn(true);
+    when(redisTemplate.execute(any(RedisCallback.class)))
+        .thenThrow(new RedisConnectionFailureException("down"));
+    when(delegate.findAllByEmails(List.of("john@example.com", "missing@example.com")))
+        .thenReturn(List.of(user));
+
+    assertEquals(
+        List.of(user),
+        repository.findAllByEmails(List.of("john@example.com", "missing@example.com")));
+  }
+
+  @Test
+  @DisplayName("should answer definite email misses without touching cache or database")
+  void shouldSkipEmailsRejectedByFilter() {
+    when(emailFilter.mightExist("ghost@example.com")).thenReturn(false);
+
+    assertNull(repository.findByEmail("ghost@example.com"));
+    verify(delegate, never()).findByEmail("ghost@example.com");
+  }
+
+  @Test
+  @DisplayName("should surface the database conflict when the filter has not seen an email yet")
+  void shouldLeaveUniquenessToDatabase() {
+    User user = User.builder().name("Late").email("late@example.com").password("hash").build();
+
+    when(emailFilter.mightExist("late@example.com")).thenReturn(false);
+    when(delegate.save(user))
+        .thenThrow(new ConflictException("User with email late@example.com already exists"));
+
+    assertNull(repository.findByEmail("late@example.com"));
+    assertThrows(ConflictException.class, () -> repository.save(user));
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import com.example.message.infrastructure.adapters.output.db.jpa.UserEmailChange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class EmailExistenceFilterTest {
+
+  @Mock
+  private JpaUserRepo repository;
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  private EmailExistenceFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    filter =
+        new EmailExistenceFilter(
+            repository,
+            redisTemplate,
+            new EmailExistenceFilter.Settings(true, "channel", 1000, 0.01, 100),
+            new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("should pick up emails changed on other nodes by updated_at, not by id")
+  void shouldSweepChangedEmails() {
+    when(repository.count()).thenReturn(0L);
+    when(repository.findEmailsAfter(anyLong(), any())).thenReturn(List.of());
+
+    filter.rebuild();
+    assertFalse(filter.mightExist("renamed@example.com"));
+
+    when(repository.findEmailsUpdatedSince(any(), anyLong(), any()))
+        .thenReturn(List.of(change(3L, "renamed@example.com", Instant.now())));
+
+    filter.sync();
+
+    assertTrue(filter.mightExist("renamed@example.com"));
+  }
+
+  private static UserEmailChange change(Long id, String email, Instant updatedAt) {
+    return new UserEmailChange() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getEmail() {
+        return email;
+      }
+
+      @Override
+      public Instant getUpdatedAt() {
+        return updatedAt;
+      }
+    };
+  }
+}
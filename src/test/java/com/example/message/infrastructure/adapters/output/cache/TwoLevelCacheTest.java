@@ -0,0 +1,67 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+import com.example.message.core.domain.User;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+  @Mock
+  private CacheInvalidationPublisher publisher;
+
+  private ConcurrentMapCache remote;
+  private TwoLevelCache cache;
+
+  @BeforeEach
+  void setUp() {
+    remote = new ConcurrentMapCache("userById", false);
+    cache = new TwoLevelCache(Caffeine.newBuilder().maximumSize(100).build(), remote, publisher);
+  }
+
+  @Test
+  @DisplayName("should serve from the local tier once loaded from the remote tier")
+  void shouldServeFromLocalTier() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+    remote.put(1L, user);
+
+    assertEquals(user, cache.get(1L, User.class));
+
+    remote.evict(1L);
+
+    assertEquals(user, cache.get(1L, User.class));
+  }
+
+  @Test
+  @DisplayName("should write through to the remote tier and publish an invalidation")
+  void shouldWriteThroughAndPublish() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+
+    cache.put(1L, user);
+
+    assertEquals(user, remote.get(1L, User.class));
+    verify(publisher).publishEvict("userById", "1");
+  }
+
+  @Test
+  @DisplayName("should drop the local copy on remote invalidation")
+  void shouldEvictLocalCopy() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+    cache.put(1L, user);
+    remote.evict(1L);
+
+    cache.evictLocal("1");
+
+    assertNull(cache.get(1L));
+  }
+}
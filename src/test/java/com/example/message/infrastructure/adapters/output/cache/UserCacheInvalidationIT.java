@@ -0,0 +1,110 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.BaseIntegrationTest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+class UserCacheInvalidationIT extends BaseIntegrationTest {
+  private static final int SEEDED_USERS = 200;
+  private static final int OPERATIONS = 4000;
+  private static final int WRITE_PERCENT = 20;
+
+  @Autowired private UserRepositoryPort userRepository;
+  @Autowired private CacheManager cacheManager;
+
+  private final List<User> seeded = new ArrayList<>();
+
+  @BeforeEach
+  void seed() {
+    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    seeded.clear();
+
+    for (int i = 0; i < SEEDED_USERS; i++) {
+      seeded.add(
+          userRepository.save(
+              User.builder()
+                  .name("Seeded " + i)
+                  .email("seeded" + i + "@example.com")
+                  .password("password")
+                  .build()));
+    }
+
+    seeded.forEach(
+        user -> {
+          userRepository.find(user.getId());
+          userRepository.findByEmail(user.getEmail());
+        });
+  }
+
+  @Test
+  void hitRatioStaysFlatUnderMixedWorkload() throws InterruptedException {
+    double readOnlyRatio = runWorkload(0);
+    double mixedRatio = runWorkload(WRITE_PERCENT);
+
+    assertThat(readOnlyRatio).isGreaterThan(0.99);
+    assertThat(mixedRatio).isGreaterThan(0.95);
+  }
+
+  private double runWorkload(int writePercent) throws InterruptedException {
+    Cache byId = cacheManager.getCache(UserCacheInvalidator.USER_BY_ID);
+    Cache byEmail = cacheManager.getCache(UserCacheInvalidator.USER_BY_EMAIL);
+    AtomicInteger reads = new AtomicInteger();
+    AtomicInteger hits = new AtomicInteger();
+    AtomicInteger signups = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    for (int i = 0; i < OPERATIONS; i++) {
+      executor.execute(
+          () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            if (random.nextInt(100) < writePercent) {
+              int n = signups.incrementAndGet();
+              userRepository.save(
+                  User.builder()
+                      .name("Signup " + n)
+                      .email("signup" + n + "-" + System.nanoTime() + "@example.com")
+                      .password("password")
+                      .build());
+              return;
+            }
+
+            User target = seeded.get(random.nextInt(seeded.size()));
+            boolean byIdRead = random.nextBoolean();
+            Cache cache = byIdRead ? byId : byEmail;
+            Object key = byIdRead ? target.getId() : target.getEmail();
+
+            reads.incrementAndGet();
+
+            if (cache.get(key) != null) {
+              hits.incrementAndGet();
+            }
+
+            if (byIdRead) {
+              userRepository.find(target.getId());
+            } else {
+              userRepository.findByEmail(target.getEmail());
+            }
+          });
+    }
+
+    executor.shutdown();
+    assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+    return reads.get() == 0 ? 1.0 : (double) hits.get() / reads.get();
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.message.core.domain.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+class UserCacheSerializerTest {
+
+  private RedisSerializer<Object> json;
+  private UserCacheSerializer serializer;
+
+  @BeforeEach
+  void setUp() {
+    json = RedisSerializer.json();
+    serializer = new UserCacheSerializer(json, 512);
+  }
+
+  @Test
+  @DisplayName("should round trip a user including the password hash")
+  void shouldRoundTripUser() {
+    User user =
+        User.builder()
+            .id(42L)
+            .name("John Doe")
+            .email("john@example.com")
+            .password("$2a$10$hash")
+            .build();
+
+    assertEquals(user, serializer.deserialize(serializer.serialize(user)));
+  }
+
+  @Test
+  @DisplayName("should keep null fields null")
+  void shouldRoundTripNullFields() {
+    User user = User.builder().name("John Doe").build();
+
+    User result = (User) serializer.deserialize(serializer.serialize(user));
+
+    assertNull(result.getId());
+    assertNull(result.getEmail());
+    assertNull(result.getPassword());
+    assertEquals("John Doe", result.getName());
+  }
+
+  @Test
+  @DisplayName("should compress user lists above the threshold")
+  void shouldRoundTripCompressedList() {
+    List<User> users = new ArrayList<>();
+
+    for (long i = 1; i <= 100; i++) {
+      users.add(User.builder().id(i).name("User " + i).email("user" + i + "@example.com").build());
+    }
+
+    byte[] bytes = serializer.serialize(users);
+
+    assertEquals(UserCacheSerializer.FLAG_COMPRESSED, bytes[3]);
+    assertEquals(users, serializer.deserialize(bytes));
+    assertTrue(bytes.length < json.serialize(users).length);
+  }
+
+  @Test
+  @DisplayName("should read legacy JSON entries")
+  void shouldReadLegacyJson() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+
+    assertEquals(user, serializer.deserialize(json.serialize(user)));
+  }
+
+  @Test
+  @DisplayName("should be smaller than the JSON encoding")
+  void shouldBeSmallerThanJson() {
+    User user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
+
+    assertTrue(serializer.serialize(user).length * 2 < json.serialize(user).length);
+  }
+
+  @Test
+  @DisplayName("should round trip the entity version and peek it from a short prefix")
+  void shouldPeekVersion() {
+    User user =
+        User.builder().id(7L).version(12L).name("John Doe").email("john@example.com").build();
+
+    byte[] bytes = serializer.serialize(user);
+
+    assertEquals(user, serializer.deserialize(bytes));
+    assertEquals(12L, UserCacheSerializer.peekVersion(Arrays.copyOf(bytes, 8)));
+    assertNull(UserCacheSerializer.peekVersion(json.serialize(user)));
+  }
+
+  @Test
+  @DisplayName("should read entries written before versions were cached")
+  void shouldReadUnversionedEntries() {
+    byte[] bytes = {
+      UserCacheSerializer.MAGIC,
+      UserCacheSerializer.VERSION_WITHOUT_ENTITY_VERSION,
+      UserCacheSerializer.TYPE_USER,
+      0,
+      1, 5,
+      4, 'J', 'o', 'e',
+      0,
+      0
+    };
+
+    User result = (User) serializer.deserialize(bytes);
+
+    assertEquals(5L, result.getId());
+    assertEquals("Joe", result.getName());
+    assertNull(result.getVersion());
+    assertNull(UserCacheSerializer.peekVersion(bytes));
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.message.infrastructure.adapters.output.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@ExtendWith(MockitoExtension.class)
+class UserPageGenerationTest {
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  @Mock
+  private ValueOperations<String, String> valueOperations;
+
+  private UserPageGeneration generation;
+
+  @BeforeEach
+  void setUp() {
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    generation = new UserPageGeneration(redisTemplate);
+  }
+
+  @Test
+  @DisplayName("should key pages by the generation stored in Redis")
+  void shouldKeyPagesByGeneration() {
+    when(valueOperations.get(UserPageGeneration.KEY)).thenReturn(null, "4");
+
+    assertEquals("0:0:21", generation.key(0L, 21));
+    assertEquals("4:0:21", generation.key(0L, 21));
+  }
+
+  @Test
+  @DisplayName("should move every page to a new key with a single increment")
+  void shouldBumpGeneration() {
+    when(valueOperations.increment(UserPageGeneration.KEY)).thenReturn(8L);
+    when(valueOperations.get(UserPageGeneration.KEY)).thenReturn("8");
+
+    generation.bump();
+
+    assertEquals("8:40:21", generation.key(40L, 21));
+  }
+
+  @Test
+  @DisplayName("should fall back to the last seen generation when Redis is unavailable")
+  void shouldFallBackToLastSeen() {
+    when(valueOperations.increment(UserPageGeneration.KEY)).thenReturn(3L);
+    when(valueOperations.get(UserPageGeneration.KEY))
+        .thenThrow(new RedisConnectionFailureException("down"));
+
+    generation.bump();
+
+    assertEquals(3L, generation.current());
+  }
+}
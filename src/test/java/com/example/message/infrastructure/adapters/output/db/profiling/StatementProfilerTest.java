@@ -0,0 +1,114 @@
+package com.example.message.infrastructure.adapters.output.db.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+
+@ExtendWith(MockitoExtension.class)
+class StatementProfilerTest {
+
+  @Mock
+  private Connection connection;
+
+  @Mock
+  private PreparedStatement statement;
+
+  private SimpleMeterRegistry meterRegistry;
+  private StatementStats stats;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    stats = new StatementStats(100);
+  }
+
+  @AfterEach
+  void tearDown() {
+    MDC.clear();
+  }
+
+  @Test
+  @DisplayName("should aggregate executions of the same statement shape")
+  void shouldAggregateByFingerprint() throws SQLException {
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+    Connection profiled = profiler(Duration.ofSeconds(10)).wrap(connection);
+
+    for (int i = 0; i < 3; i++) {
+      PreparedStatement prepared =
+          profiled.prepareStatement("/* find user */ select * from users where id = ?");
+      prepared.setLong(1, i);
+      prepared.executeQuery();
+    }
+
+    StatementStats.Snapshot snapshot = stats.snapshot().get(0);
+
+    assertEquals("select * from users where id = ?", snapshot.fingerprint());
+    assertEquals(3, snapshot.count());
+    assertEquals(0, meterRegistry.counter("db.statements.slow").count());
+    verify(statement).setLong(1, 2L);
+  }
+
+  @Test
+  @DisplayName("should count statements over the threshold and failed executions")
+  void shouldRecordSlowAndFailedStatements() throws SQLException {
+    when(connection.prepareStatement(anyString())).thenReturn(statement);
+    when(statement.executeUpdate()).thenThrow(new SQLException("boom"));
+    Connection profiled = profiler(Duration.ZERO).wrap(connection);
+
+    PreparedStatement prepared = profiled.prepareStatement("delete from users where id = ?");
+    prepared.setLong(1, 1L);
+
+    assertThrows(SQLException.class, prepared::executeUpdate);
+    assertEquals(1, stats.snapshot().get(0).errors());
+    assertEquals(1, meterRegistry.counter("db.statements.slow").count());
+  }
+
+  @Test
+  @DisplayName("should track the most executions of one statement within a trace")
+  void shouldTrackExecutionsPerTrace() {
+    MDC.put("traceId", "first");
+    stats.record("select ?", 1000, false);
+    stats.record("select ?", 1000, false);
+    stats.record("select ?", 1000, false);
+
+    MDC.put("traceId", "second");
+    stats.record("select ?", 1000, false);
+
+    StatementStats.Snapshot snapshot = stats.snapshot().get(0);
+
+    assertEquals(4, snapshot.count());
+    assertEquals(3, snapshot.maxPerTrace());
+  }
+
+  @Test
+  @DisplayName("should fold literals and IN lists into one fingerprint")
+  void shouldNormalizeLiterals() {
+    assertEquals(
+        "select id from users where email = ? and id in (?...) limit ?",
+        SqlFingerprint.of(
+            "SELECT id FROM users\n WHERE email = 'a@b.c' AND id IN (1, 2, 3) LIMIT 10"));
+    assertEquals(
+        SqlFingerprint.of("select u1_0.id from users u1_0 where u1_0.id in (?,?)"),
+        SqlFingerprint.of("select u1_0.id from users u1_0 where u1_0.id in (?,?,?,?)"));
+  }
+
+  private StatementProfiler profiler(Duration threshold) {
+    return new StatementProfiler(stats, threshold, () -> meterRegistry);
+  }
+}
@@ -12,17 +12,28 @@ import com.example.message.core.ports.output.UserRepositoryPort;
 import com.example.message.infrastructure.BaseIntegrationTest;
 import com.example.message.infrastructure.adapters.output.db.entities.UserEntity;
 import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import com.example.message.infrastructure.resilience.RequestDeadline;
+import com.example.message.infrastructure.resilience.StaleRead;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+@TestPropertySource(properties = "app.cache.email-filter.enabled=false")
 class DatabaseFailureIT extends BaseIntegrationTest {
 
   @Autowired private UserRepositoryPort userRepository;
@@ -77,14 +88,83 @@ class DatabaseFailureIT extends BaseIntegrationTest {
   }
 
   @Test
-  void testFindAllEmptyFallback() {
-    when(mockJpaUserRepo.findAll()).thenThrow(new DataAccessResourceFailureException("DB down"));
+  void testFindPageEmptyFallback() {
+    when(mockJpaUserRepo.findByIdGreaterThanOrderByIdAsc(any(), any()))
+        .thenThrow(new DataAccessResourceFailureException("DB down"));
 
-    List<User> users = userRepository.findAll();
+    List<User> users = userRepository.findPage(0L, 21);
 
     assertThat(users).isEmpty();
   }
 
+  @Test
+  void testRetriesStopAtRequestDeadline() {
+    when(mockJpaUserRepo.findByEmail(any()))
+        .thenThrow(new DataAccessResourceFailureException("DB down"));
+
+    long start = System.nanoTime();
+
+    try {
+      RequestDeadline.start(Duration.ofMillis(150));
+      assertThat(userRepository.findByEmail("deadline@example.com")).isNull();
+    } finally {
+      RequestDeadline.clear();
+    }
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void testConcurrentFailuresReleaseThreadsWithinDeadline() throws Exception {
+    int callers = 20;
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+    when(mockJpaUserRepo.findByEmail(any()))
+        .thenThrow(new DataAccessResourceFailureException("DB down"));
+
+    List<Callable<User>> calls =
+        IntStream.range(0, callers)
+            .<Callable<User>>mapToObj(
+                i ->
+                    () -> {
+                      try {
+                        RequestDeadline.start(Duration.ofMillis(200));
+                        return userRepository.findByEmail("user" + i + "@example.com");
+                      } finally {
+                        RequestDeadline.clear();
+                      }
+                    })
+            .toList();
+
+    long start = System.nanoTime();
+
+    for (Future<User> result : executor.invokeAll(calls, 5, TimeUnit.SECONDS)) {
+      assertThat(result.isCancelled()).isFalse();
+      assertThat(result.get()).isNull();
+    }
+
+    executor.shutdown();
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    verify(mockJpaUserRepo, atMost(callers * 3)).findByEmail(any());
+  }
+
+  @Test
+  void testServesLastKnownGoodWhenCircuitOpen() {
+    when(mockJpaUserRepo.save(any())).thenReturn(testEntity);
+    User saved = userRepository.save(testUser);
+
+    cacheManager.getCache("userById").clear();
+    circuitBreakerRegistry.circuitBreaker("userRepository").transitionToOpenState();
+
+    User found = userRepository.find(saved.getId());
+
+    assertThat(found).isNotNull();
+    assertThat(found.getName()).isEqualTo("Test User");
+    assertThat(StaleRead.consume()).isTrue();
+    verify(mockJpaUserRepo, never()).findById(saved.getId());
+  }
+
   @Test
   void testCircuitBreakerStateTransition() {
     CircuitBreaker cb = circuitBreakerRegistry.circuitBreaker("userRepository");
@@ -0,0 +1,137 @@
+package com.example.message.infrastructure.adapters.output.db.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.adapters.output.security.RevokedUsers;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class TokenRepositoryTest {
+  private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+  private static final long LIFETIME = 86_400_000;
+
+  private RevokedUsers revokedUsers;
+  private TokenRepository tokenRepository;
+
+  @BeforeEach
+  void setUp() {
+    revokedUsers =
+        new RevokedUsers(
+            mock(StringRedisTemplate.class),
+            new RevokedUsers.Settings(
+                "auth:revoked", "auth:revoked-users", Duration.ofMillis(LIFETIME), 100));
+    tokenRepository = new TokenRepository(SECRET, 100, LIFETIME, revokedUsers);
+  }
+
+  @Test
+  @DisplayName("should build the principal from token claims")
+  void shouldBuildPrincipalFromClaims() {
+    User user =
+        User.builder()
+            .id(7L)
+            .name("John Doe")
+            .email("john@example.com")
+            .password("hashed")
+            .build();
+
+    User principal = tokenRepository.validateToken(tokenRepository.generateToken(user));
+
+    assertEquals(7L, principal.getId());
+    assertEquals("John Doe", principal.getName());
+    assertEquals("john@example.com", principal.getEmail());
+    assertNull(principal.getPassword());
+  }
+
+  @Test
+  @DisplayName("should reuse the verified principal for a repeated token")
+  void shouldReuseVerifiedToken() {
+    String token =
+        tokenRepository.generateToken(
+            User.builder().id(1L).name("John Doe").email("john@example.com").build());
+
+    assertSame(tokenRepository.validateToken(token), tokenRepository.validateToken(token));
+  }
+
+  @Test
+  @DisplayName("should reject tampered tokens")
+  void shouldRejectTamperedToken() {
+    String token =
+        tokenRepository.generateToken(
+            User.builder().id(1L).name("John Doe").email("john@example.com").build());
+
+    assertNull(tokenRepository.validateToken(token.substring(0, token.length() - 2) + "xx"));
+  }
+
+  @Test
+  @DisplayName("should reject tokens issued without a user id claim")
+  void shouldRejectLegacyToken() {
+    String token =
+        Jwts.builder()
+            .setSubject("john@example.com")
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(
+                Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)),
+                SignatureAlgorithm.HS256)
+            .compact();
+
+    assertNull(tokenRepository.validateToken(token));
+  }
+
+  @Test
+  @DisplayName("should reject verified tokens once their user is deleted")
+  void shouldRejectRevokedUser() {
+    String token =
+        tokenRepository.generateToken(
+            User.builder().id(5L).name("John Doe").email("john@example.com").build());
+
+    assertNotNull(tokenRepository.validateToken(token));
+
+    revokedUsers.revoke(5L);
+
+    assertNull(tokenRepository.validateToken(token));
+  }
+
+  @Test
+  @DisplayName("should only reject tokens issued before a revocation from another node")
+  void shouldAcceptTokenIssuedAfterRevocation() {
+    long revokedAt = System.currentTimeMillis() - 60_000;
+
+    revokedUsers.onMessage(
+        new DefaultMessage(
+            "auth:revoked".getBytes(StandardCharsets.UTF_8),
+            ("other-node\n9\n" + revokedAt).getBytes(StandardCharsets.UTF_8)),
+        null);
+
+    String earlier =
+        Jwts.builder()
+            .setSubject("jane@example.com")
+            .claim("uid", 9L)
+            .setIssuedAt(new Date(revokedAt - 60_000))
+            .setExpiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(
+                Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)),
+                SignatureAlgorithm.HS256)
+            .compact();
+
+    assertNull(tokenRepository.validateToken(earlier));
+    assertNotNull(
+        tokenRepository.validateToken(
+            tokenRepository.generateToken(
+                User.builder().id(9L).name("Jane Doe").email("jane@example.com").build())));
+  }
+}
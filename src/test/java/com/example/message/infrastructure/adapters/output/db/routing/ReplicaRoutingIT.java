@@ -0,0 +1,93 @@
+package com.example.message.infrastructure.adapters.output.db.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.message.core.domain.User;
+import com.example.message.infrastructure.BaseIntegrationTest;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+class ReplicaRoutingIT extends BaseIntegrationTest {
+
+  static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine");
+
+  static {
+    replica.start();
+  }
+
+  @DynamicPropertySource
+  static void configureReplica(DynamicPropertyRegistry registry) {
+    registry.add("app.datasource.routing.enabled", () -> "true");
+    registry.add("app.datasource.routing.replica-urls", replica::getJdbcUrl);
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+  @BeforeEach
+  void setUp() {
+    JdbcTemplate replicaTemplate =
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+
+    mark(jdbcTemplate, "primary");
+    mark(replicaTemplate, "replica");
+
+    replicaRoutingDataSource.checkReplicaLag();
+  }
+
+  @AfterEach
+  void clearSecurityContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransactionsUseReplica() {
+    assertThat(replicaRoutingDataSource.getHealthyReplicas()).containsExactly("replica-1");
+    assertThat(currentNode(true)).isEqualTo("replica");
+  }
+
+  @Test
+  void readWriteTransactionsUsePrimary() {
+    assertThat(currentNode(false)).isEqualTo("primary");
+  }
+
+  @Test
+  void readsStickToPrimaryAfterOwnWrite() {
+    User user = User.builder().id(42L).name("John Doe").email("john@example.com").build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+    assertThat(currentNode(true)).isEqualTo("replica");
+    assertThat(currentNode(false)).isEqualTo("primary");
+    assertThat(currentNode(true)).isEqualTo("primary");
+  }
+
+  private String currentNode(boolean readOnly) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.setReadOnly(readOnly);
+
+    return transaction.execute(
+        status -> jdbcTemplate.queryForObject("SELECT name FROM node_marker", String.class));
+  }
+
+  private static void mark(JdbcTemplate template, String name) {
+    template.execute("CREATE TABLE IF NOT EXISTS node_marker (name TEXT)");
+    template.execute("TRUNCATE node_marker");
+    template.update("INSERT INTO node_marker (name) VALUES (?)", name);
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.message.infrastructure.adapters.output.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.message.core.exceptions.infrastructure.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PasswordHashingExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private PasswordHashingExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  @DisplayName("should run hashing on the pool and record latency")
+  void shouldEncodeOnPool() {
+    String thread = executor.encode(() -> Thread.currentThread().getName());
+
+    assertEquals("password-hash-1", thread);
+    assertEquals(
+        1,
+        meterRegistry
+            .get("password.hashing.duration")
+            .tag("operation", "encode")
+            .timer()
+            .count());
+  }
+
+  @Test
+  @DisplayName("should reject requests when the queue is full")
+  void shouldRejectWhenSaturated() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    callers.submit(
+        () ->
+            executor.encode(
+                () -> {
+                  running.countDown();
+                  await(release);
+                  return "first";
+                }));
+    running.await(5, TimeUnit.SECONDS);
+    callers.submit(() -> executor.encode(() -> "queued"));
+    Thread.sleep(100);
+
+    assertThrows(PasswordHashingUnavailableException.class, () -> executor.encode(() -> "third"));
+    assertEquals(1, meterRegistry.get("password.hashing.rejected").counter().count());
+
+    release.countDown();
+    callers.shutdown();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
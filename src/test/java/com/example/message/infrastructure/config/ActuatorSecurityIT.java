@@ -0,0 +1,51 @@
+package com.example.message.infrastructure.config;
+
+import static io.restassured.RestAssured.given;
+
+import com.example.message.infrastructure.BaseIntegrationTest;
+import com.example.message.infrastructure.adapters.input.web.requests.LoginRequest;
+import com.example.message.infrastructure.adapters.input.web.requests.UserRequest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class ActuatorSecurityIT extends BaseIntegrationTest {
+
+  @Test
+  @DisplayName("Should keep actuator endpoints other than health from ordinary users")
+  void shouldRequireAdminForActuator() {
+    given()
+        .contentType(ContentType.JSON)
+        .body(new UserRequest("Ordinary", "ordinary@example.com", "password"))
+        .post("/api/users");
+
+    String jwt =
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("ordinary@example.com", "password"))
+            .post("/api/auth/login")
+            .getCookie("jwt");
+
+    given()
+        .cookie("jwt", jwt)
+        .when()
+        .get("/actuator/sqlstatements")
+        .then()
+        .statusCode(HttpStatus.FORBIDDEN.value());
+
+    given()
+        .cookie("jwt", jwt)
+        .when()
+        .delete("/actuator/sqlstatements")
+        .then()
+        .statusCode(HttpStatus.FORBIDDEN.value());
+
+    given()
+        .cookie("jwt", jwt)
+        .when()
+        .get("/actuator/health")
+        .then()
+        .statusCode(HttpStatus.OK.value());
+  }
+}
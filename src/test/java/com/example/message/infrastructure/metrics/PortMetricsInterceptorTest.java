@@ -0,0 +1,99 @@
+package com.example.message.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.exceptions.infrastructure.DatabaseUnavailableException;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.adapters.output.cache.CoalescingUserRepository;
+import com.example.message.infrastructure.resilience.Fallbacks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+class PortMetricsInterceptorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private UserRepositoryPort delegate;
+  private UserRepositoryPort repository;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    delegate = mock(UserRepositoryPort.class);
+
+    ProxyFactory factory = new ProxyFactory(delegate);
+    factory.setInterfaces(UserRepositoryPort.class);
+    factory.addAdvice(new PortMetricsInterceptor(() -> meterRegistry));
+    repository = (UserRepositoryPort) factory.getProxy();
+  }
+
+  @Test
+  @DisplayName("should tag lookups by whether they found anything")
+  void shouldRecordFoundAndNotFound() {
+    when(delegate.find(1L)).thenReturn(User.builder().id(1L).build());
+
+    repository.find(1L);
+    repository.find(1L);
+    repository.find(2L);
+
+    assertEquals(2, count("find", "found"));
+    assertEquals(1, count("find", "not_found"));
+  }
+
+  @Test
+  @DisplayName("should tag calls that served a fallback")
+  void shouldRecordFallbacks() {
+    when(delegate.find(1L))
+        .thenAnswer(
+            invocation -> {
+              Fallbacks.record();
+              return User.builder().id(1L).build();
+            });
+
+    repository.find(1L);
+
+    assertEquals(1, count("find", "fallback"));
+  }
+
+  @Test
+  @DisplayName("should tag failed calls as errors and rethrow")
+  void shouldRecordErrors() {
+    when(delegate.save(null)).thenThrow(new DatabaseUnavailableException("down"));
+
+    assertThrows(DatabaseUnavailableException.class, () -> repository.save(null));
+    assertEquals(1, count("save", "error"));
+  }
+
+  @Test
+  @DisplayName("should only match methods declared by a port")
+  void shouldMatchPortMethodsOnly() throws Exception {
+    PortMethodPointcut pointcut = new PortMethodPointcut();
+
+    assertTrue(
+        pointcut.matches(
+            CoalescingUserRepository.class.getMethod("find", Long.class),
+            CoalescingUserRepository.class));
+    assertFalse(
+        pointcut.matches(
+            CoalescingUserRepository.class.getMethod("shutdown"),
+            CoalescingUserRepository.class));
+  }
+
+  private long count(String method, String outcome) {
+    return meterRegistry
+        .get(PortMetricsInterceptor.METRIC)
+        .tag("port", "UserRepositoryPort")
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+}
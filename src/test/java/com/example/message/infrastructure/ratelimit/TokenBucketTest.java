@@ -0,0 +1,100 @@
+package com.example.message.infrastructure.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final RateLimit limit = new RateLimit("test", 10, Duration.ofSeconds(10));
+
+  @Test
+  @DisplayName("should admit a full burst and then ask for one refill interval")
+  void shouldAdmitBurstThenReject() {
+    TokenBucket bucket = new TokenBucket(limit, 0);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(0, bucket.tryAcquire(0));
+    }
+
+    assertEquals(SECOND, bucket.tryAcquire(0));
+    assertEquals(SECOND / 2, bucket.tryAcquire(SECOND / 2));
+  }
+
+  @Test
+  @DisplayName("should refill one permit per interval up to capacity")
+  void shouldRefillAtTheConfiguredRate() {
+    TokenBucket bucket = new TokenBucket(limit, 0);
+
+    for (int i = 0; i < 10; i++) {
+      bucket.tryAcquire(0);
+    }
+
+    assertEquals(0, bucket.tryAcquire(SECOND));
+    assertTrue(bucket.tryAcquire(SECOND) > 0);
+
+    long idle = 100 * SECOND;
+    int admitted = 0;
+
+    while (bucket.tryAcquire(idle) == 0) {
+      admitted++;
+    }
+
+    assertEquals(10, admitted);
+  }
+
+  @Test
+  @DisplayName("should never over-admit under contention")
+  void shouldNotOverAdmitConcurrently() throws Exception {
+    TokenBucket bucket = new TokenBucket(limit, 0);
+    AtomicInteger admitted = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    for (int t = 0; t < 8; t++) {
+      executor.submit(
+          () -> {
+            start.await();
+
+            for (int i = 0; i < 1000; i++) {
+              if (bucket.tryAcquire(0) == 0) {
+                admitted.incrementAndGet();
+              }
+            }
+
+            return null;
+          });
+    }
+
+    start.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(10, admitted.get());
+  }
+
+  @Test
+  @DisplayName("should keep separate buckets per key and bound how many it holds")
+  void shouldBoundLocalBuckets() {
+    LocalRateLimiter limiter = new LocalRateLimiter(100, Duration.ofMinutes(1));
+    RateLimit single = new RateLimit("single", 1, Duration.ofMinutes(1));
+
+    assertEquals(0, limiter.tryAcquire(single, "a"));
+    assertTrue(limiter.tryAcquire(single, "a") > 0);
+    assertEquals(0, limiter.tryAcquire(single, "b"));
+
+    for (int i = 0; i < 1000; i++) {
+      limiter.tryAcquire(single, "flood-" + i);
+    }
+
+    assertTrue(limiter.size() <= 100);
+  }
+}
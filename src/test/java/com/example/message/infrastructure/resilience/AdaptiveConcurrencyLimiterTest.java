@@ -0,0 +1,96 @@
+package com.example.message.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.message.infrastructure.resilience.AdaptiveConcurrencyLimiter.Priority;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+  private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final AdaptiveConcurrencyLimiter limiter =
+      new AdaptiveConcurrencyLimiter(
+          new AdaptiveConcurrencyLimiter.Settings(20, 2, 100, Duration.ZERO, 1.5, 0.2, 600));
+
+  private long now = System.nanoTime();
+
+  @Nested
+  @DisplayName("admission")
+  class Admission {
+
+    @Test
+    @DisplayName("should shed low priority work first as the limit fills")
+    void shouldShedLowPriorityFirst() {
+      for (int i = 0; i < 10; i++) {
+        assertTrue(limiter.tryAcquire(Priority.LOW));
+      }
+
+      assertFalse(limiter.tryAcquire(Priority.LOW));
+
+      for (int i = 0; i < 8; i++) {
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+      }
+
+      assertFalse(limiter.tryAcquire(Priority.NORMAL));
+      assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+      assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+      assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+      assertEquals(20, limiter.inflight());
+    }
+  }
+
+  @Nested
+  @DisplayName("adaptation")
+  class Adaptation {
+
+    @Test
+    @DisplayName("should grow while latency holds and the limit is in use")
+    void shouldGrowAtSteadyLatency() {
+      runWindows(50, 10 * MILLIS);
+
+      assertTrue(limiter.limit() > 20);
+    }
+
+    @Test
+    @DisplayName("should shrink when latency climbs above the baseline")
+    void shouldShrinkWhenLatencyRises() {
+      runWindows(50, 10 * MILLIS);
+      int steady = limiter.limit();
+
+      runWindows(20, 200 * MILLIS);
+
+      assertTrue(limiter.limit() < steady / 2);
+    }
+
+    @Test
+    @DisplayName("should hold the limit when traffic never approaches it")
+    void shouldNotGrowWhenIdle() {
+      for (int i = 0; i < 50; i++) {
+        limiter.tryAcquire(Priority.NORMAL);
+        limiter.release(10 * MILLIS, now += MILLIS);
+      }
+
+      assertEquals(20, limiter.limit());
+    }
+  }
+
+  private void runWindows(int windows, long rtt) {
+    for (int w = 0; w < windows; w++) {
+      int admitted = 0;
+
+      while (limiter.tryAcquire(Priority.CRITICAL)) {
+        admitted++;
+      }
+
+      for (int i = 0; i < admitted; i++) {
+        limiter.release(rtt, now += MILLIS);
+      }
+    }
+  }
+}
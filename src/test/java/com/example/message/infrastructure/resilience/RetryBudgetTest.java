@@ -0,0 +1,37 @@
+package com.example.message.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+  @Test
+  @DisplayName("should stop retrying once the reserve is spent")
+  void shouldExhaustReserve() {
+    RetryBudget budget = new RetryBudget(0.1, 2);
+
+    assertTrue(budget.tryWithdraw());
+    assertTrue(budget.tryWithdraw());
+    assertFalse(budget.tryWithdraw());
+  }
+
+  @Test
+  @DisplayName("should earn one retry per ten calls at a ten percent ratio")
+  void shouldRefillFromTraffic() {
+    RetryBudget budget = new RetryBudget(0.1, 1);
+    budget.tryWithdraw();
+
+    for (int i = 0; i < 9; i++) {
+      budget.deposit();
+    }
+
+    assertFalse(budget.tryWithdraw());
+
+    budget.deposit();
+
+    assertTrue(budget.tryWithdraw());
+  }
+}
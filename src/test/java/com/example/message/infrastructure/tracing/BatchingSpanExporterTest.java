@@ -0,0 +1,94 @@
+package com.example.message.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BatchingSpanExporterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final BlockingQueue<JsonNode> received = new LinkedBlockingQueue<>();
+  private SimpleMeterRegistry meterRegistry;
+  private HttpServer collector;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    collector = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    collector.createContext(
+        "/spans",
+        exchange -> {
+          received.add(objectMapper.readTree(exchange.getRequestBody()));
+          exchange.sendResponseHeaders(202, -1);
+          exchange.close();
+        });
+    collector.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    collector.stop(0);
+  }
+
+  @Test
+  @DisplayName("should post finished spans to the collector as JSON")
+  void shouldExportToCollector() throws Exception {
+    URI endpoint = URI.create("http://localhost:" + collector.getAddress().getPort() + "/spans");
+    BatchingSpanExporter exporter =
+        new BatchingSpanExporter(
+            new HttpSpanSink(endpoint, Duration.ofSeconds(2), objectMapper),
+            new BatchingSpanExporter.Settings(10, 100, Duration.ofHours(1)),
+            meterRegistry);
+
+    Span server = Tracing.begin(TraceContext.newRoot(true), 0, "GET /api/users/1", true);
+    Span db = Tracing.start("db", "statement");
+    db.setDetail("select * from users where id = ?");
+    Tracing.end(db, false);
+    Tracing.end(server, false);
+
+    exporter.export(Tracing.finish());
+    exporter.shutdown();
+
+    JsonNode batch = received.poll(5, TimeUnit.SECONDS);
+
+    assertEquals(2, batch.size());
+    assertEquals("statement", batch.get(0).get("name").asText());
+    assertEquals(server.getTraceId(), batch.get(0).get("traceId").asText());
+    assertEquals(server.getSpanId(), batch.get(0).get("parentSpanId").asText());
+    assertEquals(2, meterRegistry.counter("tracing.spans", "result", "exported").count());
+  }
+
+  @Test
+  @DisplayName("should drop spans instead of blocking when the queue is full")
+  void shouldDropWhenFull() {
+    BatchingSpanExporter exporter =
+        new BatchingSpanExporter(
+            spans -> {},
+            new BatchingSpanExporter.Settings(10, 1, Duration.ofHours(1)),
+            meterRegistry);
+
+    Span first = new Span("trace", 1, 0, "http", "first");
+    Span second = new Span("trace", 2, 0, "http", "second");
+
+    exporter.export(List.of(first, second));
+    exporter.shutdown();
+
+    assertEquals(1, meterRegistry.counter("tracing.spans", "result", "dropped").count());
+    assertTrue(received.isEmpty());
+  }
+}
@@ -0,0 +1,124 @@
+package com.example.message.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TraceContextTest {
+  private static final String HEADER = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+  @Nested
+  @DisplayName("traceparent")
+  class Traceparent {
+
+    @Test
+    @DisplayName("should parse and format a valid header unchanged")
+    void shouldRoundTrip() {
+      TraceContext context = TraceContext.parse(HEADER);
+
+      assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.traceId());
+      assertEquals("00f067aa0ba902b7", context.spanIdHex());
+      assertTrue(context.sampled());
+      assertEquals(HEADER, context.toTraceparent());
+    }
+
+    @Test
+    @DisplayName("should keep the trace id and replace the span id in a child")
+    void shouldCreateChild() {
+      TraceContext parent = TraceContext.parse(HEADER);
+      TraceContext child = parent.child(false);
+
+      assertEquals(parent.traceId(), child.traceId());
+      assertNotEquals(parent.spanId(), child.spanId());
+      assertFalse(child.sampled());
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+          "",
+          "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7",
+          "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",
+          "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+          "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+          "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",
+          "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra"
+        })
+    @DisplayName("should reject malformed headers")
+    void shouldRejectMalformed(String header) {
+      assertNull(TraceContext.parse(header));
+    }
+
+    @Test
+    @DisplayName("should accept future versions with trailing fields")
+    void shouldAcceptFutureVersion() {
+      assertEquals(
+          "4bf92f3577b34da6a3ce929d0e0e4736",
+          TraceContext.parse(
+                  "01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00-future")
+              .traceId());
+    }
+  }
+
+  @Nested
+  @DisplayName("sampling and spans")
+  class Sampling {
+
+    @Test
+    @DisplayName("should keep unsampled traces only when slow or failed")
+    void shouldTailSample() {
+      TraceSampler sampler =
+          new TraceSampler(new TraceSampler.Settings(0, Duration.ofMillis(100), true));
+
+      assertTrue(sampler.recordsUnsampled());
+      assertFalse(sampler.sampleHead(null));
+      assertFalse(sampler.keep(false, Duration.ofMillis(5).toNanos(), 200));
+      assertTrue(sampler.keep(false, Duration.ofMillis(150).toNanos(), 200));
+      assertTrue(sampler.keep(false, Duration.ofMillis(5).toNanos(), 503));
+      assertTrue(sampler.sampleHead(TraceContext.parse(HEADER)));
+    }
+
+    @Test
+    @DisplayName("should nest spans under the server span")
+    void shouldNestSpans() {
+      TraceContext context = TraceContext.newRoot(true);
+      Span server = Tracing.begin(context, 0, "GET /api/users", true);
+      Span service = Tracing.start("service", "UserService.findById");
+      Span db = Tracing.start("db", "statement");
+      Tracing.end(db, false);
+      Tracing.end(service, false);
+      Span sibling = Tracing.start("service", "UserService.findVersion");
+      Tracing.end(sibling, true);
+      Tracing.end(server, false);
+
+      List<Span> spans = Tracing.finish();
+
+      assertEquals(4, spans.size());
+      assertNull(server.getParentSpanId());
+      assertEquals(server.getSpanId(), service.getParentSpanId());
+      assertEquals(service.getSpanId(), db.getParentSpanId());
+      assertEquals(server.getSpanId(), sibling.getParentSpanId());
+      assertTrue(sibling.isError());
+      assertNull(Tracing.current());
+    }
+
+    @Test
+    @DisplayName("should not buffer spans when the trace is not recorded")
+    void shouldSkipUnrecordedTraces() {
+      Tracing.begin(TraceContext.newRoot(false), 0, "GET /api/users", false);
+
+      assertNull(Tracing.start("service", "UserService.findById"));
+      assertTrue(Tracing.finish().isEmpty());
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.message.infrastructure.warmup;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.example.message.infrastructure.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class ReadinessProbeIT extends BaseIntegrationTest {
+
+  @Test
+  @DisplayName("Should answer readiness and liveness probes without a JWT")
+  void shouldServeProbesAnonymously() {
+    for (String probe : new String[] {"readiness", "liveness"}) {
+      given()
+          .when()
+          .get("/actuator/health/" + probe)
+          .then()
+          .statusCode(HttpStatus.OK.value())
+          .body("status", equalTo("UP"));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.message.infrastructure.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.ports.output.TokenRepositoryPort;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import com.example.message.infrastructure.adapters.output.cache.CacheInvalidationPublisher;
+import com.example.message.infrastructure.adapters.output.cache.HotUserKeys;
+import com.example.message.infrastructure.adapters.output.cache.TwoLevelCacheManager;
+import com.example.message.infrastructure.adapters.output.db.jpa.JpaUserRepo;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmerTest {
+
+  @Mock private DataSource dataSource;
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private HotUserKeys hotUserKeys;
+  @Mock private JpaUserRepo jpaUserRepo;
+  @Mock private UserRepositoryPort userRepository;
+  @Mock private TokenRepositoryPort tokenRepository;
+  @Mock private Environment environment;
+  @Mock private CacheInvalidationPublisher publisher;
+
+  private TwoLevelCacheManager cacheManager;
+  private StartupWarmer warmer;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager =
+        new TwoLevelCacheManager(
+            new ConcurrentMapCacheManager("userById", "userByEmail"),
+            Set.of("userById", "userByEmail"),
+            100,
+            Duration.ofMinutes(1),
+            publisher);
+    warmer =
+        new StartupWarmer(
+            dataSource,
+            redisTemplate,
+            hotUserKeys,
+            jpaUserRepo,
+            userRepository,
+            cacheManager,
+            tokenRepository,
+            environment,
+            new StartupWarmer.Settings(0, 10, 2, 0, Duration.ofSeconds(5)));
+  }
+
+  @Test
+  @DisplayName("should preload hot users in batches into the by-id near cache only")
+  void shouldPreloadHotUsers() {
+    User first = User.builder().id(1L).name("First").email("first@example.com").build();
+    User second = User.builder().id(2L).name("Second").email("second@example.com").build();
+    User third = User.builder().id(3L).name("Third").email("third@example.com").build();
+
+    when(hotUserKeys.mostRecent(10)).thenReturn(List.of(1L, 2L, 3L));
+    when(userRepository.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(first, second));
+    when(userRepository.findAllByIds(List.of(3L))).thenReturn(List.of(third));
+
+    List<User> loaded = warmer.preloadUsers(System.nanoTime() + Duration.ofSeconds(5).toNanos());
+
+    assertEquals(List.of(first, second, third), loaded);
+    assertSame(third, cacheManager.getNearCache("userById").peekLocal(3L));
+    assertNull(cacheManager.getNearCache("userByEmail"));
+    verify(jpaUserRepo, never()).findRecentlyUpdatedIds(any());
+  }
+
+  @Test
+  @DisplayName("should fall back to recently updated users when no hot keys were persisted")
+  void shouldFallBackToRecentlyUpdated() {
+    User user = User.builder().id(7L).name("Recent").email("recent@example.com").build();
+
+    when(hotUserKeys.mostRecent(10)).thenReturn(List.of());
+    when(jpaUserRepo.findRecentlyUpdatedIds(Limit.of(10))).thenReturn(List.of(7L));
+    when(userRepository.findAllByIds(List.of(7L))).thenReturn(List.of(user));
+
+    assertEquals(
+        List.of(user), warmer.preloadUsers(System.nanoTime() + Duration.ofSeconds(5).toNanos()));
+  }
+
+  @Test
+  @DisplayName("should stop preloading once the deadline has passed")
+  void shouldRespectDeadline() {
+    when(hotUserKeys.mostRecent(10)).thenReturn(List.of(1L, 2L));
+
+    assertEquals(List.of(), warmer.preloadUsers(System.nanoTime() - 1));
+    verify(userRepository, never()).findAllByIds(any());
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.message.loadtest;
+
+import com.example.message.infrastructure.adapters.output.cache.CoalescingUserRepository;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Same run as {@link LoadTestIT} with the primary repository port swapped for an in-memory
+ * stand-in, to separate application overhead from database and cache latency.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Import(InMemoryLoadTestIT.StandIn.class)
+@TestPropertySource(properties = "app.warmup.enabled=false")
+class InMemoryLoadTestIT extends LoadTestIT {
+
+  @Override
+  protected String mode() {
+    return "in-memory";
+  }
+
+  @TestConfiguration
+  static class StandIn {
+    @Bean
+    static BeanPostProcessor inMemoryUserRepository() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof CoalescingUserRepository repository) {
+            repository.shutdown();
+            return new InMemoryUserRepository();
+          }
+
+          return bean;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.example.message.loadtest;
+
+import com.example.message.core.domain.User;
+import com.example.message.core.exceptions.business.ConflictException;
+import com.example.message.core.exceptions.business.PreconditionFailedException;
+import com.example.message.core.ports.output.UserRepositoryPort;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Stand-in for the database and cache tiers, so a load run can isolate the cost of the web,
+ * security and service layers.
+ */
+class InMemoryUserRepository implements UserRepositoryPort {
+  private final ConcurrentSkipListMap<Long, User> users = new ConcurrentSkipListMap<>();
+  private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Override
+  public synchronized User save(User user) {
+    Long id = user.getId() != null ? user.getId() : sequence.incrementAndGet();
+    User previous = users.get(id);
+    Long owner = idsByEmail.get(user.getEmail());
+
+    if (owner != null && !owner.equals(id)) {
+      throw new ConflictException("User with email " + user.getEmail() + " already exists");
+    }
+
+    if (previous != null) {
+      idsByEmail.remove(previous.getEmail());
+    }
+
+    User stored = copy(user);
+    stored.setId(id);
+    stored.setVersion(previous == null ? 0L : previous.getVersion() + 1);
+
+    users.put(id, stored);
+    idsByEmail.put(stored.getEmail(), id);
+
+    return copy(stored);
+  }
+
+  @Override
+  public List<User> saveAll(List<User> users) {
+    return users.stream().map(this::save).toList();
+  }
+
+  @Override
+  public synchronized User update(User changes) {
+    User current = users.get(changes.getId());
+
+    if (current == null) {
+      return null;
+    }
+
+    if (changes.getVersion() != null && !changes.getVersion().equals(current.getVersion())) {
+      throw new PreconditionFailedException(
+          "User " + changes.getId() + " has changed since version " + changes.getVersion());
+    }
+
+    User updated = copy(current);
+    updated.updateFields(changes.getName(), changes.getEmail(), changes.getPassword());
+    updated.setVersion(current.getVersion());
+
+    return save(updated);
+  }
+
+  @Override
+  public Set<String> findExistingEmails(Collection<String> emails) {
+    return emails.stream().filter(idsByEmail::containsKey).collect(Collectors.toSet());
+  }
+
+  @Override
+  public List<User> findPage(Long afterId, int limit) {
+    return users.tailMap(afterId, false).values().stream().limit(limit).map(this::copy).toList();
+  }
+
+  @Override
+  public List<User> findExportBatch(Long afterId, int limit) {
+    return findPage(afterId, limit);
+  }
+
+  @Override
+  public User find(Long id) {
+    User user = users.get(id);
+
+    return user != null ? copy(user) : null;
+  }
+
+  @Override
+  public User findByEmail(String email) {
+    Long id = idsByEmail.get(email);
+
+    return id != null ? find(id) : null;
+  }
+
+  @Override
+  public List<User> findAllByIds(Collection<Long> ids) {
+    return ids.stream().map(this::find).filter(Objects::nonNull).toList();
+  }
+
+  @Override
+  public List<User> findAllByEmails(Collection<String> emails) {
+    return emails.stream().map(this::findByEmail).filter(Objects::nonNull).toList();
+  }
+
+  @Override
+  public Long findVersion(Long id) {
+    User user = users.get(id);
+
+    return user != null ? user.getVersion() : null;
+  }
+
+  @Override
+  public synchronized void delete(Long id, Long expectedVersion) {
+    User current = users.get(id);
+
+    if (current == null) {
+      return;
+    }
+
+    if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+      throw new PreconditionFailedException(
+          "User " + id + " has changed since version " + expectedVersion);
+    }
+
+    users.remove(id);
+    idsByEmail.remove(current.getEmail());
+  }
+
+  private User copy(User user) {
+    return User.builder()
+        .id(user.getId())
+        .name(user.getName())
+        .email(user.getEmail())
+        .password(user.getPassword())
+        .version(user.getVersion())
+        .build();
+  }
+}
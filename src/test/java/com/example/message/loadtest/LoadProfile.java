@@ -0,0 +1,63 @@
+package com.example.message.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load shape for a run, read from system properties so the same harness can be pointed at
+ * different arrival rates and mixes from the command line:
+ *
+ * <pre>
+ * -Dloadtest.rate=200 -Dloadtest.duration=60 -Dloadtest.warmup=10
+ * -Dloadtest.mix=signup:5,login:10,get:45,patch:10,delete:5,list:25
+ * </pre>
+ */
+public record LoadProfile(
+    double arrivalRate,
+    Duration duration,
+    Duration warmup,
+    Map<String, Integer> mix,
+    int maxInFlight,
+    int seedUsers,
+    double sloP99Millis,
+    double sloErrorRate) {
+
+  static final String DEFAULT_MIX = "signup:5,login:10,get:45,patch:10,delete:5,list:25";
+
+  public static LoadProfile fromSystemProperties() {
+    return new LoadProfile(
+        Double.parseDouble(System.getProperty("loadtest.rate", "100")),
+        Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+        Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+        parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+        Integer.getInteger("loadtest.max-in-flight", 256),
+        Integer.getInteger("loadtest.seed-users", 50),
+        Double.parseDouble(System.getProperty("loadtest.slo.p99", "0")),
+        Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.01")));
+  }
+
+  public int weight(String operation) {
+    return mix.getOrDefault(operation, 0);
+  }
+
+  public int totalWeight() {
+    return mix.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  static Map<String, Integer> parseMix(String spec) {
+    Map<String, Integer> mix = new LinkedHashMap<>();
+
+    for (String entry : spec.split(",")) {
+      String[] parts = entry.trim().split(":");
+
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry: " + entry);
+      }
+
+      mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+    }
+
+    return mix;
+  }
+}
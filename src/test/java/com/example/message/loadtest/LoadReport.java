@@ -0,0 +1,95 @@
+package com.example.message.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/** Machine-readable summary of a run, written as JSON so reports can be diffed across releases. */
+record LoadReport(
+    String mode,
+    String threads,
+    String javaVersion,
+    Instant finishedAt,
+    LoadProfile profile,
+    Map<String, OperationReport> operations,
+    OperationReport total,
+    long dropped,
+    Map<String, Object> pools) {
+
+  record OperationReport(
+      long count,
+      long errors,
+      double errorRate,
+      double throughputPerSecond,
+      Map<String, Double> latencyMillis) {
+
+    static OperationReport of(Histogram latency, long errors, double seconds) {
+      long count = latency.getTotalCount();
+      Map<String, Double> percentiles = new LinkedHashMap<>();
+
+      percentiles.put("p50", millis(latency.getValueAtPercentile(50)));
+      percentiles.put("p90", millis(latency.getValueAtPercentile(90)));
+      percentiles.put("p99", millis(latency.getValueAtPercentile(99)));
+      percentiles.put("p999", millis(latency.getValueAtPercentile(99.9)));
+      percentiles.put("max", millis(latency.getMaxValue()));
+
+      return new OperationReport(
+          count, errors, count == 0 ? 0 : (double) errors / count, count / seconds, percentiles);
+    }
+
+    private static double millis(long micros) {
+      return micros / 1000.0;
+    }
+  }
+
+  static LoadReport from(
+      String mode,
+      String threads,
+      LoadProfile profile,
+      OpenModelLoadGenerator generator,
+      Map<String, Object> pools) {
+    double seconds = profile.duration().toMillis() / 1000.0;
+    Map<String, OperationReport> operations = new LinkedHashMap<>();
+    Histogram all = new Histogram(3);
+    long errors = 0;
+
+    for (Map.Entry<String, OpenModelLoadGenerator.Stats> entry : generator.stats().entrySet()) {
+      OpenModelLoadGenerator.Stats stats = entry.getValue();
+
+      operations.put(
+          entry.getKey(), OperationReport.of(stats.latency, stats.errors.get(), seconds));
+      all.add(stats.latency);
+      errors += stats.errors.get();
+    }
+
+    return new LoadReport(
+        mode,
+        threads,
+        Runtime.version().toString(),
+        Instant.now(),
+        profile,
+        operations,
+        OperationReport.of(all, errors, seconds),
+        generator.dropped(),
+        pools);
+  }
+
+  Path write(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    Path file = directory.resolve("load-report-" + mode + "-" + threads + ".json");
+
+    new ObjectMapper()
+        .findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(file.toFile(), this);
+
+    return file;
+  }
+}
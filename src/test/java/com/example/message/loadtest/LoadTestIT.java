@@ -0,0 +1,93 @@
+package com.example.message.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.message.infrastructure.BaseIntegrationTest;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * End-to-end load run against the Postgres and Redis containers started by {@link
+ * BaseIntegrationTest}. Skipped unless {@code -Dloadtest=true}; see {@link LoadProfile} for the
+ * knobs. The report lands in {@code target/load-report-<mode>-<threads>.json}, where threads is
+ * {@code virtual} only when {@code spring.threads.virtual.enabled} is set and the runtime is Java 21
+ * or newer, so the two request-thread modes can be compared at the same connection count:
+ *
+ * <pre>
+ * mvn verify -Dloadtest=true -Dit.test='*LoadTestIT' -Dloadtest.rate=200 -Dloadtest.duration=120
+ * mvn verify -Dloadtest=true -Dit.test=LoadTestIT -Dloadtest.max-in-flight=10000 \
+ *     -Dserver.tomcat.max-connections=10000 -Dspring.threads.virtual.enabled=true
+ * </pre>
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class LoadTestIT extends BaseIntegrationTest {
+
+  @Autowired private ApplicationContext applicationContext;
+  @Autowired private MeterRegistry meterRegistry;
+
+  protected String mode() {
+    return "containers";
+  }
+
+  private String threads() {
+    return Threading.VIRTUAL.isActive(applicationContext.getEnvironment()) ? "virtual" : "platform";
+  }
+
+  @Test
+  @DisplayName("Should sustain the configured arrival rate within the latency SLO")
+  void runLoad() throws Exception {
+    LoadProfile profile = LoadProfile.fromSystemProperties();
+    UserApiClient client = new UserApiClient(port);
+    double totalSeconds = profile.duration().plus(profile.warmup()).toSeconds();
+    int deletes =
+        (int) (profile.arrivalRate() * totalSeconds * profile.weight("delete")
+            / profile.totalWeight() * 1.2);
+
+    client.seed(profile.seedUsers(), deletes);
+
+    Map<String, OpenModelLoadGenerator.Operation> operations = new LinkedHashMap<>();
+    operations.put("signup", client::signup);
+    operations.put("login", client::login);
+    operations.put("get", client::get);
+    operations.put("patch", client::patch);
+    operations.put("delete", client::delete);
+    operations.put("list", client::list);
+
+    OpenModelLoadGenerator generator = new OpenModelLoadGenerator(profile, operations);
+    LoadReport report;
+
+    try (PoolSampler sampler =
+        new PoolSampler(
+            applicationContext.getBeansOfType(HikariDataSource.class).values(), meterRegistry)) {
+      sampler.start();
+      generator.run();
+      report = LoadReport.from(mode(), threads(), profile, generator, sampler.snapshot());
+    }
+
+    Path file = report.write(Path.of("target"));
+    log.info(
+        "Load report written to {}: {} requests, p99 {} ms, error rate {}",
+        file,
+        report.total().count(),
+        report.total().latencyMillis().get("p99"),
+        report.total().errorRate());
+
+    assertThat(report.total().errorRate()).isLessThanOrEqualTo(profile.sloErrorRate());
+
+    if (profile.sloP99Millis() > 0) {
+      assertThat(report.total().latencyMillis().get("p99"))
+          .isLessThanOrEqualTo(profile.sloP99Millis());
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.example.message.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model generator: requests are issued on a fixed arrival schedule whether or not earlier
+ * ones have completed, and latency is measured from the intended start time, so a slow server
+ * shows up as queueing delay instead of a silently reduced request rate.
+ */
+public class OpenModelLoadGenerator {
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  @FunctionalInterface
+  public interface Operation {
+    /** Returns false for an unexpected response; exceptions also count as errors. */
+    boolean execute() throws Exception;
+  }
+
+  public static final class Stats {
+    final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final AtomicLong errors = new AtomicLong();
+
+    void record(long startNanos, boolean success) {
+      long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+      latency.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+
+      if (!success) {
+        errors.incrementAndGet();
+      }
+    }
+
+    void reset() {
+      latency.reset();
+      errors.set(0);
+    }
+  }
+
+  private final LoadProfile profile;
+  private final Map<String, Operation> operations;
+  private final Map<String, Stats> stats = new LinkedHashMap<>();
+  private final AtomicLong dropped = new AtomicLong();
+
+  public OpenModelLoadGenerator(LoadProfile profile, Map<String, Operation> operations) {
+    this.profile = profile;
+    this.operations = operations;
+    operations.keySet().forEach(name -> stats.put(name, new Stats()));
+  }
+
+  public Map<String, Stats> stats() {
+    return stats;
+  }
+
+  public long dropped() {
+    return dropped.get();
+  }
+
+  public void run() throws InterruptedException {
+    ExecutorService workers =
+        new ThreadPoolExecutor(
+            0,
+            profile.maxInFlight(),
+            30,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    try {
+      drive(workers, profile.warmup().toNanos());
+      stats.values().forEach(Stats::reset);
+      dropped.set(0);
+      drive(workers, profile.duration().toNanos());
+    } finally {
+      workers.shutdown();
+      workers.awaitTermination(1, TimeUnit.MINUTES);
+    }
+  }
+
+  private void drive(ExecutorService workers, long durationNanos) {
+    long interval = (long) (TimeUnit.SECONDS.toNanos(1) / profile.arrivalRate());
+    List<String> weighted = weightedNames();
+    long start = System.nanoTime();
+
+    for (long i = 0; ; i++) {
+      long intended = start + i * interval;
+
+      if (intended - start >= durationNanos) {
+        return;
+      }
+
+      long wait = intended - System.nanoTime();
+
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      String name = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+      Operation operation = operations.get(name);
+      Stats target = stats.get(name);
+
+      try {
+        workers.execute(() -> target.record(intended, succeeds(operation)));
+      } catch (RejectedExecutionException e) {
+        dropped.incrementAndGet();
+        target.record(intended, false);
+      }
+    }
+  }
+
+  private List<String> weightedNames() {
+    List<String> names = new ArrayList<>();
+
+    for (String name : operations.keySet()) {
+      for (int i = 0; i < profile.weight(name); i++) {
+        names.add(name);
+      }
+    }
+
+    if (names.isEmpty()) {
+      throw new IllegalArgumentException("Load mix selects none of " + operations.keySet());
+    }
+
+    return names;
+  }
+
+  private static boolean succeeds(Operation operation) {
+    try {
+      return operation.execute();
+    } catch (Exception e) {
+      return false;
+    }
+  }
+}
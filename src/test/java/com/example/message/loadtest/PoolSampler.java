@@ -0,0 +1,71 @@
+package com.example.message.loadtest;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/** Samples connection pool saturation once a second while a run is in progress. */
+class PoolSampler implements AutoCloseable {
+  private final Collection<HikariDataSource> dataSources;
+  private final MeterRegistry meterRegistry;
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final Map<String, Integer> maxActive = new LinkedHashMap<>();
+  private final Map<String, Integer> maxPending = new LinkedHashMap<>();
+  private final Map<String, Integer> maxSize = new LinkedHashMap<>();
+  private double maxRedisCommandMillis;
+
+  PoolSampler(Collection<HikariDataSource> dataSources, MeterRegistry meterRegistry) {
+    this.dataSources = dataSources;
+    this.meterRegistry = meterRegistry;
+  }
+
+  void start() {
+    scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+  }
+
+  synchronized Map<String, Object> snapshot() {
+    Map<String, Object> hikari = new LinkedHashMap<>();
+
+    for (String pool : maxActive.keySet()) {
+      hikari.put(
+          pool,
+          Map.of(
+              "maxActive", maxActive.get(pool),
+              "maxPending", maxPending.get(pool),
+              "poolSize", maxSize.get(pool)));
+    }
+
+    return Map.of("hikari", hikari, "redis", Map.of("maxCommandMillis", maxRedisCommandMillis));
+  }
+
+  private synchronized void sample() {
+    for (HikariDataSource dataSource : dataSources) {
+      HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+      if (pool == null) {
+        continue;
+      }
+
+      String name = dataSource.getPoolName();
+      maxActive.merge(name, pool.getActiveConnections(), Math::max);
+      maxPending.merge(name, pool.getThreadsAwaitingConnection(), Math::max);
+      maxSize.merge(name, pool.getTotalConnections(), Math::max);
+    }
+
+    for (Timer timer : meterRegistry.find("lettuce.command.completion").timers()) {
+      maxRedisCommandMillis = Math.max(maxRedisCommandMillis, timer.max(TimeUnit.MILLISECONDS));
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.message.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Drives the public user API over plain HTTP the way an external client would. */
+class UserApiClient {
+  private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+  private static final Pattern JWT = Pattern.compile("jwt=([^;]+)");
+  private static final String PASSWORD = "load-test-password";
+
+  record Account(long id, String email, String cookie) {}
+
+  private final HttpClient http =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  private final String baseUrl;
+  private final String runId = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong sequence = new AtomicLong();
+  private final List<Account> accounts = new CopyOnWriteArrayList<>();
+  private final Queue<Long> deletable = new ConcurrentLinkedQueue<>();
+
+  UserApiClient(int port) {
+    this.baseUrl = "http://localhost:" + port;
+  }
+
+  void seed(int users, int deletableUsers) throws Exception {
+    for (int i = 0; i < users; i++) {
+      String email = nextEmail();
+      long id = signup(email).orElseThrow(() -> new IllegalStateException("Seed signup failed"));
+      String cookie =
+          login(email).orElseThrow(() -> new IllegalStateException("Seed login failed"));
+      accounts.add(new Account(id, email, cookie));
+    }
+
+    for (int i = 0; i < deletableUsers; i++) {
+      signup(nextEmail()).ifPresent(deletable::add);
+    }
+  }
+
+  boolean signup() throws Exception {
+    return signup(nextEmail()).isPresent();
+  }
+
+  boolean login() throws Exception {
+    return login(randomAccount().email()).isPresent();
+  }
+
+  boolean get() throws Exception {
+    Account account = randomAccount();
+
+    return send(authorized("/api/users/" + account.id(), account).GET()).statusCode() == 200;
+  }
+
+  boolean list() throws Exception {
+    return send(authorized("/api/users?limit=20", randomAccount()).GET()).statusCode() == 200;
+  }
+
+  boolean patch() throws Exception {
+    Account account = randomAccount();
+    String body = userJson("Load User " + sequence.incrementAndGet(), account.email());
+
+    return send(
+                authorized("/api/users/" + account.id(), account)
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(body)))
+            .statusCode()
+        == 200;
+  }
+
+  boolean delete() throws Exception {
+    Long id = deletable.poll();
+
+    if (id == null) {
+      return get();
+    }
+
+    return send(authorized("/api/users/" + id, randomAccount()).DELETE()).statusCode() == 204;
+  }
+
+  private Optional<Long> signup(String email) throws Exception {
+    String body = userJson("Load User", email);
+    HttpResponse<String> response =
+        send(json("/api/users").POST(HttpRequest.BodyPublishers.ofString(body)));
+    Matcher matcher = ID.matcher(response.body());
+
+    return response.statusCode() == 201 && matcher.find()
+        ? Optional.of(Long.parseLong(matcher.group(1)))
+        : Optional.empty();
+  }
+
+  private Optional<String> login(String email) throws Exception {
+    String body = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+    HttpResponse<String> response =
+        send(json("/api/auth/login").POST(HttpRequest.BodyPublishers.ofString(body)));
+
+    if (response.statusCode() != 200) {
+      return Optional.empty();
+    }
+
+    return response.headers().allValues("Set-Cookie").stream()
+        .map(JWT::matcher)
+        .filter(Matcher::find)
+        .map(matcher -> "jwt=" + matcher.group(1))
+        .findFirst();
+  }
+
+  private HttpRequest.Builder json(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(Duration.ofSeconds(30))
+        .header("Content-Type", "application/json");
+  }
+
+  private HttpRequest.Builder authorized(String path, Account account) {
+    return json(path).header("Cookie", account.cookie());
+  }
+
+  private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+    return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private Account randomAccount() {
+    return accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+  }
+
+  private String nextEmail() {
+    return "load-" + runId + "-" + sequence.incrementAndGet() + "@example.com";
+  }
+
+  private static String userJson(String name, String email) {
+    return "{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD
+        + "\"}";
+  }
+}